@@ -0,0 +1,42 @@
+package com.example.tailorapp.bench;
+
+import com.example.tailorapp.TailorWebApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The real application context (services, repositories, second-level cache, FTS index) without the web server,
+ * on a scratch SQLite file that is deleted again after the trial. Benchmarks seed it with synthetic rows.
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private final Path dir;
+    private final ConfigurableApplicationContext context;
+
+    BenchmarkDatabase() throws IOException {
+        dir = Files.createTempDirectory("tailor-bench");
+        context = new SpringApplicationBuilder(TailorWebApplication.class)
+                .web(WebApplicationType.NONE)
+                // As arguments: defaults set through properties() would lose to application.properties
+                .run("--spring.datasource.url=jdbc:sqlite:" + dir.resolve("tailor.db"),
+                        "--tailor.upload.client-path=" + dir.resolve("profiles"),
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(dir);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.tailorapp.bench;
+
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.service.ClientService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ClientService.search against a seeded client table: a two-letter term (bounded LIKE scan),
+ * a surname and a mobile prefix (FTS5 trigram index) and a two-word phrase.
+ */
+@State(Scope.Benchmark)
+public class ClientSearchBenchmark {
+
+    @Param({"20000"})
+    public int clients;
+
+    @Param({"Kh", "Khan", "0312", "Bilal Qu"})
+    public String term;
+
+    private BenchmarkDatabase db;
+    private ClientService clientService;
+
+    @Setup
+    public void setUp() throws Exception {
+        db = new BenchmarkDatabase();
+        clientService = db.bean(ClientService.class);
+
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(clients);
+        for (int i = 1; i <= clients; i++) {
+            Client c = Fixtures.client(random, i);
+            rows.add(new Object[]{c.getId(), c.getName(), c.getMobile(), c.getWhatsAppNo(), c.getAddress()});
+        }
+        // Plain inserts; the client_fts triggers index every row as it lands
+        JdbcTemplate jdbc = db.bean(JdbcTemplate.class);
+        db.bean(TransactionTemplate.class).executeWithoutResult(tx -> jdbc.batchUpdate(
+                "INSERT INTO client(id, name, mobile, whats_app_no, address) VALUES (?, ?, ?, ?, ?)", rows));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        db.close();
+    }
+
+    @Benchmark
+    public List<Client> search() {
+        return clientService.search(term, 20);
+    }
+}
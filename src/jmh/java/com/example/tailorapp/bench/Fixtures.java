@@ -0,0 +1,48 @@
+package com.example.tailorapp.bench;
+
+import com.example.tailorapp.loadtest.SyntheticData;
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.DressMeasurement;
+import com.example.tailorapp.model.WaistcoatMeasurement;
+import com.example.tailorapp.repository.PaymentReportRow;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Benchmark inputs on top of SyntheticData, the seeded rows the data generator writes. */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static Client client(Random random, long id) {
+        Client c = SyntheticData.client(random);
+        c.setId(id);
+        return c;
+    }
+
+    static DressMeasurement dress(Random random, Client client) {
+        return SyntheticData.dress(random, client, LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700)));
+    }
+
+    static WaistcoatMeasurement waistcoat(Random random, Client client) {
+        return SyntheticData.waistcoat(random, client, LocalDate.of(2024, 1, 1).plusDays(random.nextInt(700)));
+    }
+
+    // Report lines in date order, a few per day, like the SQL cursor returns them
+    static List<PaymentReportRow> reportRows(Random random, int count) {
+        List<PaymentReportRow> rows = new ArrayList<>(count);
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < count; i++) {
+            if (random.nextInt(8) == 0) date = date.plusDays(1);
+            long dressCount = random.nextInt(4);
+            long waistcoatCount = random.nextInt(3) == 0 ? 1 : 0;
+            long total = dressCount * 1500 + waistcoatCount * 2500;
+            rows.add(new PaymentReportRow(date, 1L + random.nextInt(20_000), SyntheticData.name(random),
+                    dressCount, 1500L, waistcoatCount, 2500L, (long) (total * random.nextDouble())));
+        }
+        return rows;
+    }
+}
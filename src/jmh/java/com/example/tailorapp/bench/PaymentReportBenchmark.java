@@ -0,0 +1,56 @@
+package com.example.tailorapp.bench;
+
+import com.example.tailorapp.pdf.PaymentReportRenderer;
+import com.example.tailorapp.pdf.PdfAssets;
+import com.example.tailorapp.repository.PaymentReportRow;
+import com.example.tailorapp.repository.PaymentReportTotals;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The payment report PDF over 1k / 10k / 100k rows, fed from memory so only layout and PDF writing count.
+ * Uses the streaming layout (?stream=true); the one-table layout is far slower at these sizes
+ * and would not finish a 100k-row iteration.
+ */
+@State(Scope.Thread)
+public class PaymentReportBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private PaymentReportRenderer renderer;
+    private List<PaymentReportRow> lines;
+    private PaymentReportTotals totals;
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(1 << 20);
+
+    @Setup
+    public void setUp() throws Exception {
+        renderer = new PaymentReportRenderer(new PdfAssets());
+        lines = Fixtures.reportRows(new Random(42), rows);
+        long dress = 0, waistcoat = 0, dressAmount = 0, waistcoatAmount = 0, paid = 0;
+        for (PaymentReportRow r : lines) {
+            dress += r.dressCount();
+            waistcoat += r.waistcoatCount();
+            dressAmount += r.dressCount() * r.dressRate();
+            waistcoatAmount += r.waistcoatCount() * r.waistcoatRate();
+            paid += r.paidAmount();
+        }
+        totals = new PaymentReportTotals(dress, waistcoat, dressAmount, waistcoatAmount, paid);
+    }
+
+    @Benchmark
+    public int report() throws Exception {
+        sink.reset();
+        renderer.write(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 12, 31),
+                lines::forEach, () -> totals, true, sink);
+        return sink.size();
+    }
+}
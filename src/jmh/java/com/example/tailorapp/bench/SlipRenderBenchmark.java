@@ -0,0 +1,51 @@
+package com.example.tailorapp.bench;
+
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.DressMeasurement;
+import com.example.tailorapp.model.WaistcoatMeasurement;
+import com.example.tailorapp.pdf.PdfAssets;
+import com.example.tailorapp.pdf.SlipRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+/**
+ * One dress slip (kameez, shalwar and design sections, footer, icons) and one waistcoat slip,
+ * written into a reused buffer so only the renderer's own work and garbage is measured.
+ */
+@State(Scope.Thread)
+public class SlipRenderBenchmark {
+
+    private SlipRenderer renderer;
+    private Client client;
+    private DressMeasurement dress;
+    private WaistcoatMeasurement waistcoat;
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(64 * 1024);
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        renderer = new SlipRenderer(new PdfAssets());
+        client = Fixtures.client(random, 1042);
+        dress = Fixtures.dress(random, client);
+        waistcoat = Fixtures.waistcoat(random, client);
+    }
+
+    @Benchmark
+    public int dressSlip() throws Exception {
+        sink.reset();
+        renderer.writeDress(client, dress, sink);
+        return sink.size();
+    }
+
+    @Benchmark
+    public int waistcoatSlip() throws Exception {
+        sink.reset();
+        renderer.writeWaistcoat(client, waistcoat, sink);
+        return sink.size();
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.tailorapp.bench;
+
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.PaymentInstallment;
+import com.example.tailorapp.model.Payments;
+import com.example.tailorapp.repository.ClientRepository;
+import com.example.tailorapp.repository.PaymentsRepository;
+import com.example.tailorapp.service.PaymentsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * PaymentsService.syncTotals on one payment with 10 / 100 / 1000 installments, the way the repair path runs it:
+ * load the payment, lazily load its installments, recompute and touch the client balance only if it moved.
+ */
+@State(Scope.Benchmark)
+public class SyncTotalsBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int installments;
+
+    private BenchmarkDatabase db;
+    private PaymentsService paymentsService;
+    private PaymentsRepository paymentsRepository;
+    private TransactionTemplate tx;
+    private Long paymentId;
+
+    @Setup
+    public void setUp() throws Exception {
+        db = new BenchmarkDatabase();
+        paymentsService = db.bean(PaymentsService.class);
+        paymentsRepository = db.bean(PaymentsRepository.class);
+        tx = db.bean(TransactionTemplate.class);
+
+        Random random = new Random(42);
+        Client client = Fixtures.client(random, 0);
+        client.setId(null);
+        client = db.bean(ClientRepository.class).save(client);
+
+        Payments payment = new Payments();
+        payment.setClient(client);
+        payment.setDate(LocalDate.of(2024, 1, 1));
+        payment.setDressCount(2L);
+        payment.setDressRate(1500L);
+        payment.setTotalAmount(1_000L * installments);
+        for (int i = 0; i < installments; i++) {
+            PaymentInstallment inst = new PaymentInstallment();
+            inst.setPaymentDate(payment.getDate().plusDays(i % 365));
+            inst.setPaidAmount(1L + random.nextInt(1_000));
+            payment.addInstallment(inst);
+        }
+        paymentId = paymentsRepository.save(payment).getId();
+        // First sync creates the client's balance row; every measured one after it finds nothing to move
+        sync();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        db.close();
+    }
+
+    @Benchmark
+    public Long sync() {
+        return tx.execute(status -> {
+            Payments payment = paymentsRepository.findById(paymentId).orElseThrow();
+            paymentsService.syncTotals(payment);
+            return payment.getPaidAmount();
+        });
+    }
+}
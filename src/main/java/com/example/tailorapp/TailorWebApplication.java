@@ -1,10 +1,13 @@
 package com.example.tailorapp;
 
 import com.example.tailorapp.config.DatabasePathInitializerEarly;
+import com.example.tailorapp.config.TailorRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(TailorRuntimeHints.class)
 public class TailorWebApplication {
 
     public static void main(String[] args) {
@@ -1,5 +1,6 @@
 package com.example.tailorapp.config;
 
+import com.example.tailorapp.service.ProfileImageService;
 import com.example.tailorapp.service.StorageProperties;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
@@ -15,9 +16,11 @@ import java.nio.file.Paths;
 public class AppStartup implements ApplicationRunner {
 
     private final StorageProperties props;
+    private final ProfileImageService profileImageService;
 
-    public AppStartup(StorageProperties props) {
+    public AppStartup(StorageProperties props, ProfileImageService profileImageService) {
         this.props = props;
+        this.profileImageService = profileImageService;
     }
 
     @Override
@@ -27,5 +30,7 @@ public class AppStartup implements ApplicationRunner {
         if (!Files.exists(p)) {
             Files.createDirectories(p);
         }
+        // List / view-size variants for pictures that don't have them yet, in the background
+        profileImageService.backfillVariants();
     }
 }
@@ -0,0 +1,57 @@
+package com.example.tailorapp.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One-time backfill of the payment ledger for databases created before totals were maintained on write.
+ * Re-derives each payment's paid / remaining / status from its installments and fills client_balance
+ * (totals, open payment count, oldest open return date) with one aggregate insert;
+ * after that PaymentsService keeps both up to date incrementally.
+ */
+@Component
+public class ClientBalanceInitializer implements ApplicationRunner {
+
+    private final JdbcTemplate jdbc;
+
+    public ClientBalanceInitializer(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        // Empty table, or rows written before the open-count / oldest-due-date columns existed
+        Boolean needed = jdbc.queryForObject(
+                "SELECT count(*) = 0 OR count(*) > count(open_count) FROM client_balance", Boolean.class);
+        if (Boolean.TRUE.equals(needed)) rebuild();
+    }
+
+    // Also used after rows were written behind the services' back (SyntheticDataGenerator)
+    @Transactional
+    public void rebuild() {
+        // One grouped pass over the installments instead of a correlated subquery per payment
+        jdbc.execute("UPDATE payments SET paid_amount = 0");
+        jdbc.execute("""
+                UPDATE payments SET paid_amount = s.paid
+                FROM (SELECT payment_id, sum(coalesce(paid_amount, 0)) AS paid
+                      FROM payment_installment GROUP BY payment_id) s
+                WHERE s.payment_id = payments.id""");
+        jdbc.execute("""
+                UPDATE payments SET remaining_amount = max(coalesce(total_amount, 0) - paid_amount, 0)""");
+        jdbc.execute("""
+                UPDATE payments SET payment_status = CASE
+                  WHEN remaining_amount <= 0 AND coalesce(total_amount, 0) > 0 THEN 'Paid'
+                  WHEN paid_amount > 0 THEN 'Partial'
+                  ELSE 'Unpaid' END""");
+        jdbc.execute("DELETE FROM client_balance");
+        jdbc.execute("""
+                INSERT INTO client_balance(client_id, total_amount, paid_amount, remaining_amount, open_count, oldest_due_date)
+                SELECT client_id, sum(coalesce(total_amount, 0)), sum(paid_amount), sum(remaining_amount),
+                       sum(remaining_amount > 0), min(CASE WHEN remaining_amount > 0 THEN return_date END)
+                FROM payments WHERE client_id IS NOT NULL GROUP BY client_id""");
+    }
+}
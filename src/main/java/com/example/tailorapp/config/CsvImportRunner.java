@@ -0,0 +1,68 @@
+package com.example.tailorapp.config;
+
+import com.example.tailorapp.importer.BulkImportService;
+import com.example.tailorapp.importer.ImportKind;
+import com.example.tailorapp.importer.ImportReport;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command-line bulk import, e.g. when onboarding a branch:
+ * <pre>
+ * java -jar tailor-web-sqlite.jar --spring.main.web-application-type=none \
+ *      --import=clients:clients.csv --import=dress:dress.csv --import=payments:payments.csv
+ * </pre>
+ * Files run in the order given (so measurements can refer to clients by clientMobile), then the app exits.
+ */
+@Component
+@Order // after the startup initializers (AppStartup, ClientBalanceInitializer)
+public class CsvImportRunner implements ApplicationRunner {
+
+    private final BulkImportService importService;
+    private final ConfigurableApplicationContext context;
+
+    public CsvImportRunner(BulkImportService importService, ConfigurableApplicationContext context) {
+        this.importService = importService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> imports = args.getOptionValues("import");
+        if (imports == null || imports.isEmpty()) return;
+
+        boolean ok = true;
+        for (String spec : imports) {
+            int colon = spec.indexOf(':');
+            if (colon < 0) {
+                System.err.println("❌ Expected --import=<clients|dress|waistcoat|payments>:<file.csv>, got " + spec);
+                ok = false;
+                continue;
+            }
+            ImportKind kind = ImportKind.parse(spec.substring(0, colon));
+            Path file = Path.of(spec.substring(colon + 1));
+
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                ImportReport report = importService.importCsv(kind, reader);
+                System.out.print(report.toText());
+                if (report.getFailed() > 0) ok = false;
+            } catch (IllegalArgumentException e) {
+                System.err.println("❌ " + file + ": " + e.getMessage());
+                ok = false;
+            }
+        }
+
+        int exitCode = ok ? 0 : 1;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
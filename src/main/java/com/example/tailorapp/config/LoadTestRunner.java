@@ -0,0 +1,95 @@
+package com.example.tailorapp.config;
+
+import com.example.tailorapp.loadtest.LoadTestDriver;
+import com.example.tailorapp.loadtest.LoadTestReport;
+import com.example.tailorapp.loadtest.SyntheticDataGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Starts the app as usual, then load-tests it from inside the same JVM over localhost and exits:
+ * <pre>
+ * java -jar tailor-web-sqlite.jar --spring.datasource.url=jdbc:sqlite:/tmp/scratch.db --load-test \
+ *      [--tailor.load-test.rate=50 --tailor.load-test.duration=2m --tailor.load-test.mix=view:1,slip:1]
+ * </pre>
+ * Writes (client saves, installments) go to the configured database, so a mix with save / installment only runs on
+ * a database made by --generate-data, unless --tailor.load-test.allow-writes=true.
+ * Prints latency percentiles and errors per scenario; exit code 1 when any request failed.
+ */
+@Component
+@Order // after the startup initializers (AppStartup, ClientBalanceInitializer)
+public class LoadTestRunner implements ApplicationRunner {
+
+    private final LoadTestDriver driver;
+    private final SyntheticDataGenerator generator;
+    private final ConfigurableApplicationContext context;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final String mix;
+    private final int maxInFlight;
+    private final boolean allowWrites;
+
+    public LoadTestRunner(LoadTestDriver driver,
+                          SyntheticDataGenerator generator,
+                          ConfigurableApplicationContext context,
+                          @Value("${tailor.load-test.rate:20}") double rate,
+                          @Value("${tailor.load-test.warmup:15s}") Duration warmup,
+                          @Value("${tailor.load-test.duration:60s}") Duration duration,
+                          @Value("${tailor.load-test.mix:list:15,search:20,view:30,save:5,installment:5,slip:20,report:5}") String mix,
+                          @Value("${tailor.load-test.max-in-flight:256}") int maxInFlight,
+                          @Value("${tailor.load-test.allow-writes:false}") boolean allowWrites) {
+        this.driver = driver;
+        this.generator = generator;
+        this.context = context;
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.maxInFlight = maxInFlight;
+        this.allowWrites = allowWrites;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("load-test")) return;
+
+        Map<LoadTestDriver.Scenario, Integer> weights = LoadTestDriver.parseMix(mix);
+        boolean writes = weights.entrySet().stream().anyMatch(e -> e.getKey().writes() && e.getValue() > 0);
+
+        int exitCode;
+        if (!(context instanceof WebServerApplicationContext web) || web.getWebServer() == null) {
+            System.err.println("❌ --load-test needs the web server; drop --spring.main.web-application-type=none");
+            exitCode = 1;
+        } else if (writes && !allowWrites && !generator.isGenerated()) {
+            System.err.println("❌ The save / installment scenarios would write to a database --generate-data didn't make;"
+                    + " point --spring.datasource.url at a scratch file, drop them from --tailor.load-test.mix"
+                    + " or pass --tailor.load-test.allow-writes=true");
+            exitCode = 1;
+        } else {
+            URI base = URI.create("http://localhost:" + web.getWebServer().getPort());
+            System.out.printf("⏱️ Load test on %s: %.1f req/s, %s warm-up, %s measured, mix %s%n",
+                    base, rate, warmup, duration, mix);
+            try {
+                LoadTestReport report = driver.run(base, rate, warmup, duration, weights, maxInFlight, 42);
+                System.out.print(report.toText());
+                exitCode = report.errorCount() > 0 ? 1 : 0;
+            } catch (IllegalStateException e) {
+                System.err.println("❌ " + e.getMessage());
+                exitCode = 1;
+            }
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
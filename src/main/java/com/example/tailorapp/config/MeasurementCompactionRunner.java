@@ -0,0 +1,60 @@
+package com.example.tailorapp.config;
+
+import com.example.tailorapp.service.MeasurementService;
+import com.example.tailorapp.service.WaistcoatService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.LongToIntFunction;
+
+/**
+ * One-off migration of measurement history written before versioning, when every re-order copied the whole row:
+ * <pre>
+ * java -jar tailor-web-sqlite.jar --spring.main.web-application-type=none --compact-measurements
+ * </pre>
+ * For each client with several dress (or waistcoat) rows, a row copied into the next one (see
+ * MeasurementHistoryService.compact) becomes a version of that row holding only their differences; exact duplicates
+ * shrink to an empty version. Measurements entered on their own stay separate rows. One transaction per client,
+ * so the run can be interrupted and started again. The app exits when done.
+ */
+@Component
+@Order // after the startup initializers (AppStartup, ClientBalanceInitializer)
+public class MeasurementCompactionRunner implements ApplicationRunner {
+
+    private final MeasurementService measurementService;
+    private final WaistcoatService waistcoatService;
+    private final ConfigurableApplicationContext context;
+
+    public MeasurementCompactionRunner(MeasurementService measurementService,
+                                       WaistcoatService waistcoatService,
+                                       ConfigurableApplicationContext context) {
+        this.measurementService = measurementService;
+        this.waistcoatService = waistcoatService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption("compact-measurements")) return;
+
+        compact("dress", measurementService.findClientIdsToCompact(), measurementService::compactClient);
+        compact("waistcoat", waistcoatService.findClientIdsToCompact(), waistcoatService::compactClient);
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private static void compact(String label, List<Long> clientIds, LongToIntFunction compactClient) {
+        long started = System.currentTimeMillis();
+        long removed = 0;
+        for (Long clientId : clientIds) {
+            removed += compactClient.applyAsInt(clientId);
+        }
+        System.out.printf("✅ Compacted %s measurements: %d clients, %d copied rows turned into versions in %d ms%n",
+                label, clientIds.size(), removed, System.currentTimeMillis() - started);
+    }
+}
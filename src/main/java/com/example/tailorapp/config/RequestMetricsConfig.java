@@ -0,0 +1,66 @@
+package com.example.tailorapp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-endpoint SQL meters next to the http.server.requests timers Actuator records:
+ * tailor.request.sql.statements (statements per request) and tailor.request.sql.time (time spent executing them),
+ * tagged with the same method / uri pattern so both can be read side by side on /admin/perf or in Prometheus.
+ */
+@Configuration
+public class RequestMetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+    public RequestMetricsConfig(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                SqlStatementListener.startRequest();
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                SqlStatementListener.Tally tally = SqlStatementListener.finishRequest();
+                if (tally != null) record(request, tally);
+            }
+        }).excludePathPatterns("/css/**", "/images/**", "/client-profiles/**", "/actuator/**");
+    }
+
+    private void record(HttpServletRequest request, SqlStatementListener.Tally tally) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("tailor.request.sql.statements")
+                .description("JDBC statements run by one request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100_000.0)
+                .register(registry)
+                .record(tally.statements());
+        Timer.builder("tailor.request.sql.time")
+                .description("Time one request spent executing JDBC statements")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(tally.executeNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.tailorapp.config;
+
+import com.example.tailorapp.loadtest.SmokeTest;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Starts the app as usual, runs SmokeTest against it over localhost and exits:
+ * <pre>
+ * build/native/nativeCompile/tailor --spring.datasource.url=jdbc:sqlite:/tmp/scratch.db --smoke-test
+ * </pre>
+ * Also prints how long startup took and, on Linux, the peak resident memory. Exit code 1 when any check failed.
+ */
+@Component
+@Order // after the startup initializers (AppStartup, ClientBalanceInitializer)
+public class SmokeTestRunner implements ApplicationRunner {
+
+    private final SmokeTest smokeTest;
+    private final ConfigurableApplicationContext context;
+
+    public SmokeTestRunner(SmokeTest smokeTest, ConfigurableApplicationContext context) {
+        this.smokeTest = smokeTest;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("smoke-test")) return;
+
+        int exitCode;
+        if (!(context instanceof WebServerApplicationContext web) || web.getWebServer() == null) {
+            System.err.println("❌ --smoke-test needs the web server; drop --spring.main.web-application-type=none");
+            exitCode = 1;
+        } else {
+            System.out.printf("⏱️ Ready %d ms after launch%n", ManagementFactory.getRuntimeMXBean().getUptime());
+            try {
+                int failed = smokeTest.run(URI.create("http://localhost:" + web.getWebServer().getPort()), System.out);
+                String rss = peakRss();
+                if (rss != null) System.out.println("📈 Peak resident memory " + rss);
+                exitCode = failed > 0 ? 1 : 0;
+            } catch (IllegalStateException e) {
+                System.err.println("❌ " + e.getMessage());
+                exitCode = 1;
+            }
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    // VmHWM from /proc, e.g. "142336 kB"; null where the OS doesn't report it
+    private static String peakRss() {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.isReadable(status)) return null;
+        try (Stream<String> lines = Files.lines(status)) {
+            return lines.filter(l -> l.startsWith("VmHWM:"))
+                    .map(l -> l.substring("VmHWM:".length()).trim())
+                    .findFirst().orElse(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
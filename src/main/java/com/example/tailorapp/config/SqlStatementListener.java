@@ -0,0 +1,81 @@
+package com.example.tailorapp.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Counts the JDBC statements each web request runs and the time spent executing them.
+ * Hibernate creates one listener per session (hibernate.session.events.auto), while a request may open
+ * several sessions, so the tally lives on the request thread between startRequest() and finishRequest() (RequestMetricsConfig).
+ * Statements run outside a request (startup, CLI runners, background work) are not counted here;
+ * they still show in the global Hibernate statistics.
+ */
+public class SqlStatementListener implements SessionEventListener {
+
+    /** What one request did against the database. */
+    public static final class Tally {
+        private long statements;
+        private long executeNanos;
+
+        public long statements() {
+            return statements;
+        }
+
+        public long executeNanos() {
+            return executeNanos;
+        }
+    }
+
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    public static void startRequest() {
+        CURRENT.set(new Tally());
+    }
+
+    // The finished tally, or null when startRequest() was never called on this thread
+    public static Tally finishRequest() {
+        Tally tally = CURRENT.get();
+        CURRENT.remove();
+        return tally;
+    }
+
+    public static Tally current() {
+        return CURRENT.get();
+    }
+
+    // Lets a worker thread count into the tally of the request waiting on it (PdfRenderPool); null detaches again
+    public static void attach(Tally tally) {
+        if (tally != null) CURRENT.set(tally);
+        else CURRENT.remove();
+    }
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcPrepareStatementEnd() {
+        Tally tally = CURRENT.get();
+        if (tally != null) tally.statements++;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        Tally tally = CURRENT.get();
+        if (tally != null) tally.executeNanos += System.nanoTime() - executeStart;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        Tally tally = CURRENT.get();
+        if (tally != null) tally.executeNanos += System.nanoTime() - batchStart;
+    }
+}
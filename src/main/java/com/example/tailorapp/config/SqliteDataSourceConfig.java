@@ -0,0 +1,83 @@
+package com.example.tailorapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+
+/**
+ * SQLite allows one writer at a time, so instead of letting pooled connections race for the write lock
+ * (and fail with SQLITE_BUSY) every read-write transaction goes through a pool with exactly one connection:
+ * callers queue for it in order and are never rejected by SQLite itself.
+ * The database runs in WAL mode, so the separate read-only pool keeps reading the last committed snapshot
+ * while that writer is busy. @Transactional(readOnly = true) picks the read pool, everything else the writer.
+ */
+@Configuration
+public class SqliteDataSourceConfig {
+
+    private final String url;
+    private final int busyTimeoutMs;
+
+    public SqliteDataSourceConfig(@Value("${spring.datasource.url}") String url,
+                                  @Value("${tailor.datasource.busy-timeout-ms:10000}") int busyTimeoutMs) {
+        this.url = url;
+        this.busyTimeoutMs = busyTimeoutMs;
+    }
+
+    // Migrations run on the writer too
+    @Bean
+    @FlywayDataSource
+    public HikariDataSource writeDataSource(@Value("${tailor.datasource.write-queue-timeout-ms:30000}") long queueTimeoutMs) {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        // In WAL mode NORMAL only syncs at checkpoints, so back-to-back commits share one fsync
+        config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        // Take the write lock at BEGIN rather than on the first write, so a transaction never has to upgrade
+        config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        config.setBusyTimeout(busyTimeoutMs);
+
+        HikariDataSource ds = pool("sqlite-writer", config);
+        ds.setMaximumPoolSize(1);
+        ds.setConnectionTimeout(queueTimeoutMs);
+        return ds;
+    }
+
+    @Bean
+    public HikariDataSource readDataSource(@Value("${tailor.datasource.read-pool-size:4}") int poolSize) {
+        SQLiteConfig config = new SQLiteConfig();
+        // Let the pool flip connections to read-only (PRAGMA query_only) instead of fixing it at open time
+        config.setExplicitReadOnly(true);
+        config.setBusyTimeout(busyTimeoutMs);
+
+        HikariDataSource ds = pool("sqlite-reader", config);
+        ds.setReadOnly(true);
+        ds.setMaximumPoolSize(poolSize);
+        return ds;
+    }
+
+    // Hands out the writer by default and the read pool inside read-only transactions
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource writeDataSource, HikariDataSource readDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(writeDataSource);
+        proxy.setReadOnlyDataSource(readDataSource);
+        return proxy;
+    }
+
+    private HikariDataSource pool(String name, SQLiteConfig config) {
+        // Not started here: the first getConnection() opens it, after the writer has created the file
+        HikariDataSource ds = new HikariDataSource();
+        ds.setPoolName(name);
+        ds.setDriverClassName("org.sqlite.JDBC");
+        ds.setJdbcUrl(url);
+        ds.setDataSourceProperties(config.toProperties());
+        ds.setMinimumIdle(1);
+        return ds;
+    }
+}
@@ -1,15 +1,64 @@
 package com.example.tailorapp.config;
 
+import com.example.tailorapp.service.StorageProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Every URL served here is content-addressed, so it can be cached forever:
+ * CSS and icons get an MD5 fingerprint in the file name (templates rewrite @{...} links automatically),
+ * and client pictures are stored under a hash of their bytes by ClientController.saveClient.
+ */
 @Configuration
+@EnableConfigurationProperties(StorageProperties.class)
 public class StaticResourceConfig implements WebMvcConfigurer {
 
+    private static final CacheControl FOREVER = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    // Leading content hash of a stored picture / variant, e.g. 3fa9c0d2e1b4a756_thumb.jpg
+    private static final Pattern HASHED_NAME = Pattern.compile("^([0-9a-f]{16})[._]");
+
+    private final StorageProperties storageProperties;
+
+    public StaticResourceConfig(StorageProperties storageProperties) {
+        this.storageProperties = storageProperties;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/css/**", "/images/**")
+                .addResourceLocations("classpath:/static/css/", "classpath:/static/images/")
+                .setCacheControl(FOREVER)
+                .resourceChain(true)
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+
+        String profileDir = Paths.get(storageProperties.getClientPath()).toAbsolutePath().toUri().toString();
         registry.addResourceHandler("/client-profiles/**")
-                .addResourceLocations("file:D:/tailor-app/client-profiles/");
+                .addResourceLocations(profileDir.endsWith("/") ? profileDir : profileDir + "/")
+                .setCacheControl(FOREVER)
+                .setEtagGenerator(StaticResourceConfig::profileEtag);
+    }
+
+    // Strong ETag: the content hash in the file name, or size + mtime for pictures stored before hashing
+    private static String profileEtag(Resource resource) {
+        String name = resource.getFilename();
+        Matcher m = HASHED_NAME.matcher(name != null ? name : "");
+        if (m.find()) return m.group(1) + name.substring(m.end() - 1);
+        try {
+            return Long.toHexString(resource.contentLength()) + "-" + Long.toHexString(resource.lastModified());
+        } catch (IOException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,67 @@
+package com.example.tailorapp.config;
+
+import com.example.tailorapp.loadtest.SyntheticDataGenerator;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Builds a scratch database for load tests and benchmarks at realistic scale:
+ * <pre>
+ * java -jar tailor-web-sqlite.jar --spring.main.web-application-type=none \
+ *      --spring.datasource.url=jdbc:sqlite:/tmp/scratch.db --generate-data=50000 [--seed=42]
+ * </pre>
+ * Only runs against a database without clients, so it can't mix fake rows into the shop's data.
+ * The app exits when done.
+ */
+@Component
+@Order // after the startup initializers (AppStartup, ClientBalanceInitializer)
+public class SyntheticDataRunner implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final JdbcTemplate jdbc;
+    private final ConfigurableApplicationContext context;
+
+    public SyntheticDataRunner(SyntheticDataGenerator generator, JdbcTemplate jdbc,
+                               ConfigurableApplicationContext context) {
+        this.generator = generator;
+        this.jdbc = jdbc;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> count = args.getOptionValues("generate-data");
+        if (count == null || count.isEmpty()) return;
+
+        int exitCode = generate(Integer.parseInt(count.get(0).trim()), seedOf(args));
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private int generate(int clients, long seed) {
+        Long existing = jdbc.queryForObject("SELECT count(*) FROM client", Long.class);
+        if (existing != null && existing > 0) {
+            System.err.println("❌ The database already has " + existing
+                    + " clients; point --spring.datasource.url at a new scratch file");
+            return 1;
+        }
+
+        SyntheticDataGenerator.Summary s = generator.generate(clients, seed);
+        System.out.printf("✅ Generated %d clients (seed %d): %d dress / %d waistcoat measurements with %d versions,"
+                        + " %d payments, %d installments in %d ms%n",
+                s.clients(), seed, s.dressRows(), s.waistcoatRows(), s.versions(),
+                s.payments(), s.installments(), s.millis());
+        return 0;
+    }
+
+    private static long seedOf(ApplicationArguments args) {
+        List<String> seed = args.getOptionValues("seed");
+        return seed == null || seed.isEmpty() ? 42 : Long.parseLong(seed.get(0).trim());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.tailorapp.config;
+
+import com.example.tailorapp.repository.MeasurementSummary;
+import com.example.tailorapp.repository.PaymentReportRow;
+import com.example.tailorapp.repository.PaymentReportTotals;
+import com.example.tailorapp.repository.ReceivableRow;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.community.dialect.SQLiteDialect;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * What the native image can't find by following the code: classes Hibernate and JCache create by name
+ * from application.properties / config files, files read off the classpath at runtime, and the records
+ * that JPQL constructs and templates read reflectively.
+ * Beans, entities and controller types come from Spring's AOT processing; libraries ship their own metadata
+ * (sqlite-jdbc) or get it from the GraalVM reachability metadata repository (Hibernate core, Thymeleaf, Caffeine).
+ */
+public class TailorRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // spring.jpa.database-platform, hibernate.session.events.auto, the "jcache" region factory and its provider
+        hints.reflection()
+                .registerType(SQLiteDialect.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(SqlStatementListener.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                .registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                // key-type / value-type of every region in the JCache defaults (reference.conf)
+                .registerType(Object.class);
+
+        // select new ...(...) in the repositories; rows and summaries are also read by the templates
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                PaymentReportRow.class, PaymentReportTotals.class, ReceivableRow.class, MeasurementSummary.class);
+        for (Class<?> row : new Class<?>[]{PaymentReportRow.class, PaymentReportTotals.class,
+                ReceivableRow.class, MeasurementSummary.class}) {
+            hints.reflection().registerType(row, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        // #temporals / #lists / #strings in the templates
+        for (String utility : new String[]{"Temporals", "Lists", "Strings"}) {
+            hints.reflection().registerType(TypeReference.of("org.thymeleaf.expression." + utility),
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        // Second-level cache regions, and the JCache / Typesafe Config defaults they are merged over
+        hints.resources()
+                .registerPattern("caffeine.conf")
+                .registerPattern("reference.conf");
+
+        // OpenPDF: metrics of the built-in fonts, its message texts and the fallback font;
+        // the slip icons under static/ are packed by Spring Boot with the rest of the static resources
+        hints.resources()
+                .registerPattern("com/lowagie/text/pdf/fonts/*")
+                .registerPattern("com/lowagie/text/error_messages/*")
+                .registerPattern("font-fallback/*");
+    }
+}
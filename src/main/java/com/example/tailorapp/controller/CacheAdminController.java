@@ -0,0 +1,76 @@
+package com.example.tailorapp.controller;
+
+import com.example.tailorapp.pdf.SlipCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.Locale;
+
+/**
+ * Second-level cache counters, for sizing the regions in caffeine.conf.
+ * Counts are since startup or the last reset; a region whose ratio stays low
+ * while its puts keep climbing is evicting entries it will need again (too small).
+ */
+@Controller
+@RequestMapping("/admin/cache")
+public class CacheAdminController {
+
+    private final SessionFactory sessionFactory;
+    private final SlipCache slipCache;
+
+    public CacheAdminController(EntityManagerFactory entityManagerFactory, SlipCache slipCache) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.slipCache = slipCache;
+    }
+
+    // ✅ One line per region: hits, misses, puts, hit ratio
+    @GetMapping
+    public ResponseEntity<String> stats() {
+        Statistics stats = sessionFactory.getStatistics();
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-26s %10s %10s %10s %7s%n",
+                "region", "hits", "misses", "puts", "ratio"));
+
+        for (String region : stats.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics r = stats.getCacheRegionStatistics(region);
+            if (r == null) r = stats.getQueryRegionStatistics(region);
+            if (r == null) continue;
+            out.append(line(region, r.getHitCount(), r.getMissCount(), r.getPutCount()));
+        }
+        out.append(line("(all second-level)", stats.getSecondLevelCacheHitCount(),
+                stats.getSecondLevelCacheMissCount(), stats.getSecondLevelCachePutCount()));
+        out.append(line("(all queries)", stats.getQueryCacheHitCount(),
+                stats.getQueryCacheMissCount(), stats.getQueryCachePutCount()));
+        out.append(String.format(Locale.ROOT, "%nsince %s%n", stats.getStart()));
+
+        // ✅ Rendered slip PDFs (tailor.print.slip-cache-size); counted since startup, the reset doesn't touch them
+        CacheStats slips = slipCache.stats();
+        out.append(String.format(Locale.ROOT, "%nrendered slips: %d cached (%d KB), %d hits, %d misses, %d evicted%n",
+                slipCache.size(), slipCache.bytes() / 1024, slips.hitCount(), slips.missCount(), slips.evictionCount()));
+
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(out.toString());
+    }
+
+    // ✅ Start a fresh measuring window (counters only; cached entries stay)
+    @PostMapping("/reset")
+    public ResponseEntity<String> reset() {
+        sessionFactory.getStatistics().clear();
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body("Cache statistics reset\n");
+    }
+
+    private static String line(String name, long hits, long misses, long puts) {
+        long lookups = hits + misses;
+        String ratio = lookups == 0 ? "-" : String.format(Locale.ROOT, "%.1f%%", 100.0 * hits / lookups);
+        return String.format(Locale.ROOT, "%-26s %10d %10d %10d %7s%n",
+                name, hits, misses, puts, ratio);
+    }
+}
@@ -3,23 +3,27 @@ package com.example.tailorapp.controller;
 import com.example.tailorapp.model.Client;
 import com.example.tailorapp.model.DressMeasurement;
 import com.example.tailorapp.model.WaistcoatMeasurement;
+import com.example.tailorapp.service.ClientPage;
 import com.example.tailorapp.service.ClientService;
 import com.example.tailorapp.service.MeasurementService;
+import com.example.tailorapp.service.PaymentsService;
+import com.example.tailorapp.service.ProfileImageService;
 import com.example.tailorapp.service.StorageProperties;
 
 import com.example.tailorapp.service.WaistcoatService;
-import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.File;
 import java.io.IOException;
 import java.time.LocalDate;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,23 +36,44 @@ public class ClientController {
     private final MeasurementService measurementService;
     private final StorageProperties storageProperties;
     private final WaistcoatService waistcoatService;
+    private final ProfileImageService profileImageService;
+    private final PaymentsService paymentsService;
+    private final int pageSize;
 
     public ClientController(ClientService clientService,
                             MeasurementService measurementService,
                             StorageProperties storageProperties,
-                            WaistcoatService waistcoatService) {
+                            WaistcoatService waistcoatService,
+                            ProfileImageService profileImageService,
+                            PaymentsService paymentsService,
+                            @Value("${tailor.clients.page-size:50}") int pageSize) {
         this.clientService = clientService;
         this.measurementService = measurementService;
         this.storageProperties = storageProperties;
         this.waistcoatService = waistcoatService;
+        this.profileImageService = profileImageService;
+        this.paymentsService = paymentsService;
+        this.pageSize = pageSize;
     }
 
-    // List clients
+    // List clients (newest first, keyset-paginated by id)
     @GetMapping
-    public String list(@RequestParam(required = false) String q, Model model) {
-        List<Client> clients = clientService.search(q);
-        clients.sort(Comparator.comparing(Client::getId).reversed());
+    public String list(@RequestParam(required = false) String q,
+                       @RequestParam(required = false) Long after,
+                       @RequestParam(required = false) Long before,
+                       Model model) {
+        List<Client> clients;
+        if (q != null && !q.isBlank()) {
+            clients = clientService.search(q, pageSize);
+        } else {
+            ClientPage page = clientService.page(after, before, pageSize);
+            clients = page.clients();
+            model.addAttribute("nextCursor", page.nextCursor());
+            model.addAttribute("prevCursor", page.prevCursor());
+        }
         model.addAttribute("clients", clients);
+        // Outstanding amounts come from the per-client balance rows, one lookup for the whole page
+        model.addAttribute("balances", paymentsService.findBalances(clients.stream().map(Client::getId).toList()));
         model.addAttribute("q", q);
         return "clients/list";
     }
@@ -73,22 +98,25 @@ public class ClientController {
             existing = clientService.findById(client.getId()).orElse(null);
         }
 
-        // ✅ Handle image upload
+        // ✅ Handle image upload (stored under a hash of its bytes, so the URL can be cached forever)
         if (pictureFile != null && !pictureFile.isEmpty()) {
             // File upload
-            String filename = System.currentTimeMillis() + "_" + pictureFile.getOriginalFilename();
+            byte[] imageBytes = pictureFile.getBytes();
+            String filename = contentHash(imageBytes) + extensionOf(pictureFile.getOriginalFilename());
             File dest = new File(uploadPath, filename);
-            pictureFile.transferTo(dest);
+            if (!dest.exists()) java.nio.file.Files.write(dest.toPath(), imageBytes);
             client.setPictureFilename("/client-profiles/" + filename);
+            profileImageService.requestVariants(dest.toPath());
         }
         else if (imageData != null && !imageData.isEmpty()) {
             // Camera capture
             String base64Image = imageData.split(",")[1];
             byte[] imageBytes = java.util.Base64.getDecoder().decode(base64Image);
-            String filename = "camera_" + System.currentTimeMillis() + ".png";
+            String filename = contentHash(imageBytes) + ".png";
             File outputFile = new File(uploadPath, filename);
-            java.nio.file.Files.write(outputFile.toPath(), imageBytes);
+            if (!outputFile.exists()) java.nio.file.Files.write(outputFile.toPath(), imageBytes);
             client.setPictureFilename("/client-profiles/" + filename);
+            profileImageService.requestVariants(outputFile.toPath());
         }
         else if (existing != null) {
             // ✅ Keep existing picture if no new one provided
@@ -105,6 +133,22 @@ public class ClientController {
     }
 
 
+    private static String contentHash(byte[] bytes) {
+        try {
+            byte[] digest = java.security.MessageDigest.getInstance("SHA-256").digest(bytes);
+            return java.util.HexFormat.of().formatHex(digest, 0, 8);
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String extensionOf(String originalFilename) {
+        if (originalFilename == null) return "";
+        int dot = originalFilename.lastIndexOf('.');
+        String ext = dot >= 0 ? originalFilename.substring(dot).toLowerCase() : "";
+        return ext.matches("\\.[a-z0-9]{1,5}") ? ext : "";
+    }
+
     // View client + measurements
     @GetMapping("/view/{id}")
     public String view(@PathVariable Long id,
@@ -116,19 +160,15 @@ public class ClientController {
 
         Client client = c.get();
 
-        // Dress measurements
-        List<DressMeasurement> dressMeasurements = measurementService.findByClient(id)
-                .stream()
-                .sorted(Comparator.comparing(DressMeasurement::getDate, Comparator.nullsLast(Comparator.reverseOrder())))
-                .toList();
-        model.addAttribute("dressMeasurements", dressMeasurements);
+        // Dress measurements: the latest in full, older ones as summaries (detail fetched on demand)
+        DressMeasurement latestDress = measurementService.findLatestByClient(id).orElse(null);
+        model.addAttribute("latestDress", latestDress);
+        model.addAttribute("dressHistory", measurementService.findHistory(id, latestDress));
 
         // Waistcoat measurements
-        List<WaistcoatMeasurement> waistcoatMeasurements = waistcoatService.findByClient(id)
-                .stream()
-                .sorted(Comparator.comparing(WaistcoatMeasurement::getDate, Comparator.nullsLast(Comparator.reverseOrder())))
-                .toList();
-        model.addAttribute("waistcoatMeasurements", waistcoatMeasurements);
+        WaistcoatMeasurement latestWaistcoat = waistcoatService.findLatestByClient(id).orElse(null);
+        model.addAttribute("latestWaistcoat", latestWaistcoat);
+        model.addAttribute("waistcoatHistory", waistcoatService.findHistory(id, latestWaistcoat));
 
         // Form handling
         if (edit != null) {
@@ -150,6 +190,40 @@ public class ClientController {
         model.addAttribute("client", client);
         return "clients/view";
     }
+
+    // Detail panel of an older measurement, fetched when its row is opened on the client page
+    @GetMapping("/measurement/dress/{measurementId}")
+    public String dressDetail(@PathVariable Long measurementId, Model model) {
+        Optional<DressMeasurement> m = measurementService.findById(measurementId);
+        if (m.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        model.addAttribute("m", m.get());
+        return "clients/measurement-detail :: dress";
+    }
+
+    @GetMapping("/measurement/waistcoat/{measurementId}")
+    public String waistcoatDetail(@PathVariable Long measurementId, Model model) {
+        Optional<WaistcoatMeasurement> w = waistcoatService.findById(measurementId);
+        if (w.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        model.addAttribute("w", w.get());
+        return "clients/measurement-detail :: waistcoat";
+    }
+
+    // An earlier version of a measurement, rebuilt from the current row
+    @GetMapping("/measurement/dress/{measurementId}/version/{versionId}")
+    public String dressVersionDetail(@PathVariable Long measurementId, @PathVariable Long versionId, Model model) {
+        Optional<DressMeasurement> m = measurementService.findVersion(measurementId, versionId);
+        if (m.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        model.addAttribute("m", m.get());
+        return "clients/measurement-detail :: dress";
+    }
+
+    @GetMapping("/measurement/waistcoat/{measurementId}/version/{versionId}")
+    public String waistcoatVersionDetail(@PathVariable Long measurementId, @PathVariable Long versionId, Model model) {
+        Optional<WaistcoatMeasurement> w = waistcoatService.findVersion(measurementId, versionId);
+        if (w.isEmpty()) throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        model.addAttribute("w", w.get());
+        return "clients/measurement-detail :: waistcoat";
+    }
     // Add dressMeasurement
     @PostMapping("/addMeasurement/{id}")
     public String addMeasurement(@PathVariable Long id,
@@ -247,19 +321,16 @@ public class ClientController {
         return "redirect:/clients/view/" + clientId;
     }
 
+    // Re-order: starts a new version of the measurement instead of copying the row
     @GetMapping("/copyMeasurement/{id}")
     public String copyMeasurement(@PathVariable Long id, RedirectAttributes ra) {
-        Optional<DressMeasurement> existing = measurementService.findById(id);
+        Optional<DressMeasurement> existing = measurementService.newVersion(id);
         if (existing.isEmpty()) {
             ra.addFlashAttribute("error", "Measurement not found");
             return "redirect:/clients";
         }
 
         DressMeasurement original = existing.get();
-        DressMeasurement copy = new DressMeasurement();
-        org.springframework.beans.BeanUtils.copyProperties(original, copy, "id", "date");
-        copy.setDate(LocalDate.now());
-        measurementService.save(copy);
 
         ra.addFlashAttribute("message", "Measurement copied with today’s date");
         return "redirect:/clients/view/" + original.getClient().getId();
@@ -322,17 +393,13 @@ public class ClientController {
 
     @GetMapping("/copyWaistcoatMeasurement/{id}")
     public String copyWaistcoat(@PathVariable Long id, RedirectAttributes ra) {
-        Optional<WaistcoatMeasurement> existing = waistcoatService.findById(id);
+        Optional<WaistcoatMeasurement> existing = waistcoatService.newVersion(id);
         if (existing.isEmpty()) {
             ra.addFlashAttribute("error", "Measurement not found");
             return "redirect:/clients";
         }
 
         WaistcoatMeasurement original = existing.get();
-        WaistcoatMeasurement copy = new WaistcoatMeasurement();
-        org.springframework.beans.BeanUtils.copyProperties(original, copy, "id", "date");
-        copy.setDate(LocalDate.now());
-        waistcoatService.save(copy);
 
         ra.addFlashAttribute("message", "Waistcoat measurement copied with today’s date");
         return "redirect:/clients/view/" + original.getClient().getId();
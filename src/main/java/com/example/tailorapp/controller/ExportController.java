@@ -0,0 +1,67 @@
+package com.example.tailorapp.controller;
+
+import com.example.tailorapp.exporter.ExportKind;
+import com.example.tailorapp.exporter.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+@Controller
+@RequestMapping("/export")
+public class ExportController {
+
+    private final ExportService exportService;
+    // Each running export holds a read-pool connection; keep some for the counters
+    private final Semaphore running;
+
+    public ExportController(ExportService exportService,
+                            @Value("${tailor.export.max-concurrent:1}") int maxConcurrent) {
+        this.exportService = exportService;
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    // ✅ Whole table as a download: /export/clients?format=csv (clients, dress, waistcoat, payments, installments)
+    @GetMapping("/{kind}")
+    public void export(@PathVariable String kind,
+                       @RequestParam(defaultValue = "csv") String format,
+                       HttpServletResponse response) throws Exception {
+        ExportKind exportKind;
+        ExportService.Format exportFormat;
+        try {
+            exportKind = ExportKind.parse(kind);
+            exportFormat = ExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (!running.tryAcquire()) {
+            response.setHeader("Retry-After", "30");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Another export is running");
+            return;
+        }
+        try {
+            boolean csv = exportFormat == ExportService.Format.CSV;
+            response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader("Content-Disposition",
+                    "attachment; filename=" + exportKind.fileName() + (csv ? ".csv" : ".ndjson"));
+
+            Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), 64 * 1024);
+            exportService.export(exportKind, exportFormat, out);
+        } finally {
+            running.release();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.tailorapp.controller;
+
+import com.example.tailorapp.importer.BulkImportService;
+import com.example.tailorapp.importer.ImportKind;
+import com.example.tailorapp.importer.ImportReport;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+@Controller
+@RequestMapping("/import")
+public class ImportController {
+
+    private final BulkImportService importService;
+
+    public ImportController(BulkImportService importService) {
+        this.importService = importService;
+    }
+
+    // ✅ Upload from the clients page (kind = clients, dress, waistcoat or payments)
+    @PostMapping(value = "/{kind}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<String> importFile(@PathVariable String kind,
+                                             @RequestParam("file") MultipartFile file) throws IOException {
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            return run(kind, reader);
+        }
+    }
+
+    // ✅ Raw CSV body, read straight off the socket: curl --data-binary @clients.csv -H 'Content-Type: text/csv'
+    @PostMapping(value = "/{kind}", consumes = "text/csv")
+    public ResponseEntity<String> importBody(@PathVariable String kind, HttpServletRequest request) throws IOException {
+        try (Reader reader = new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)) {
+            return run(kind, reader);
+        }
+    }
+
+    private ResponseEntity<String> run(String kind, Reader reader) throws IOException {
+        ImportKind importKind;
+        try {
+            importKind = ImportKind.parse(kind);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        try {
+            ImportReport report = importService.importCsv(importKind, reader);
+            return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(report.toText());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(e.getMessage() + "\n");
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.example.tailorapp.controller;
 
 import com.example.tailorapp.model.Client;
-import com.example.tailorapp.model.PaymentInstallment;
 import com.example.tailorapp.model.Payments;
 import com.example.tailorapp.service.ClientService;
 import com.example.tailorapp.service.PaymentsService;
@@ -36,9 +35,6 @@ public class PaymentsController {
         List<Payments> payments = paymentsService.findByClient(clientId);
         payments.sort(Comparator.comparing(Payments::getDate).reversed());
 
-        // Auto-sync each payment totals
-        payments.forEach(paymentsService::syncTotals);
-
         Payments newPayment = new Payments();
         newPayment.setClient(clientOpt.get());
         newPayment.setDate(LocalDate.now());
@@ -46,35 +42,28 @@ public class PaymentsController {
         model.addAttribute("client", clientOpt.get());
         model.addAttribute("payments", payments);
         model.addAttribute("payment", newPayment);
+        model.addAttribute("installments", paymentsService.findInstallmentsByClient(clientId));
+        model.addAttribute("balance", paymentsService.findBalance(clientId).orElse(null));
         return "payments/list";
     }
 
     // ✅ Save new or edited payment
     @PostMapping("/save")
     public String savePayment(@ModelAttribute Payments payment, RedirectAttributes ra) {
-        if (payment.getId() != null) {
-            // Load existing payment to retain installments
-            Payments existing = paymentsService.findById(payment.getId()).orElse(null);
-            if (existing != null) {
-                payment.setInstallments(existing.getInstallments());
-                payment.setClient(existing.getClient());
-            }
-        }
-
-        paymentsService.saveAndSync(payment);
+        // Existing payments keep their installments and paid amount; only the editable fields are copied
+        Payments saved = paymentsService.saveAndSync(payment);
         ra.addFlashAttribute("message", "Payment saved successfully");
-        return "redirect:/payments/client/" + payment.getClient().getId();
+        return "redirect:/payments/client/" + saved.getClient().getId();
     }
 
 
     // ✅ Delete a payment
     @GetMapping("/delete/{id}")
     public String deletePayment(@PathVariable Long id, RedirectAttributes ra) {
-        Optional<Payments> p = paymentsService.findById(id);
+        Optional<Payments> p = paymentsService.delete(id);
         if (p.isEmpty()) return "redirect:/clients";
 
         Long clientId = p.get().getClient().getId();
-        paymentsService.delete(id);
         ra.addFlashAttribute("message", "Payment deleted successfully");
         return "redirect:/payments/client/" + clientId;
     }
@@ -87,24 +76,12 @@ public class PaymentsController {
                                  @RequestParam(value = "paymentDate", required = false) LocalDate paymentDate,
                                  RedirectAttributes ra) {
 
-        Payments payment = paymentsService.findById(paymentId).orElse(null);
-        if (payment == null) {
+        Optional<Payments> paymentOpt = paymentsService.addInstallment(paymentId, paidAmount, note, paymentDate); // 🔁 Totals move by the amount
+        if (paymentOpt.isEmpty()) {
             ra.addFlashAttribute("error", "Payment not found");
             return "redirect:/clients";
         }
-
-        if (paymentDate == null) paymentDate = LocalDate.now();
-
-        PaymentInstallment installment = new PaymentInstallment();
-        installment.setPayment(payment);
-        installment.setPaidAmount(paidAmount);
-        installment.setNote(note);
-        installment.setPaymentDate(paymentDate);
-
-        payment.getInstallments().add(installment);
-
-        paymentsService.syncTotals(payment); // 🔁 Auto-update totals
-        paymentsService.save(payment);
+        Payments payment = paymentOpt.get();
 
         ra.addFlashAttribute("message", "Installment added successfully");
         return "redirect:/payments/client/" + payment.getClient().getId();
@@ -0,0 +1,137 @@
+package com.example.tailorapp.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same meters /actuator/prometheus exports, as a plain-text page for reading on the shop machine.
+ * Times are milliseconds since startup: request timings per endpoint with the SQL each one ran,
+ * PDF build / write split per document, the PDF render pool's queue,
+ * and how long requests waited for a pooled connection.
+ */
+@Controller
+@RequestMapping("/admin/perf")
+public class PerfAdminController {
+
+    private final MeterRegistry registry;
+    private final SessionFactory sessionFactory;
+
+    public PerfAdminController(MeterRegistry registry, EntityManagerFactory entityManagerFactory) {
+        this.registry = registry;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    @GetMapping
+    public ResponseEntity<String> perf() {
+        StringBuilder out = new StringBuilder();
+
+        // ✅ Endpoints, slowest total first; SQL columns are per request
+        out.append(String.format(Locale.ROOT, "%-44s %7s %9s %9s %9s %9s %8s %8s%n",
+                "endpoint", "count", "mean ms", "p95 ms", "max ms", "sql ms", "stmts", "max st"));
+        registry.find("http.server.requests").timers().stream()
+                .filter(t -> !t.getId().getTag("uri").startsWith("/actuator"))
+                .sorted(Comparator.comparingDouble((Timer t) -> t.totalTime(TimeUnit.MILLISECONDS)).reversed())
+                .forEach(t -> {
+                    String method = t.getId().getTag("method");
+                    String uri = t.getId().getTag("uri");
+                    Optional<Timer> sqlTime = Optional.ofNullable(registry.find("tailor.request.sql.time")
+                            .tags("method", method, "uri", uri).timer());
+                    Optional<DistributionSummary> statements = Optional.ofNullable(registry.find("tailor.request.sql.statements")
+                            .tags("method", method, "uri", uri).summary());
+                    out.append(String.format(Locale.ROOT, "%-44s %7d %9.1f %9s %9.1f %9s %8s %8s%n",
+                            abbreviate(method + " " + uri + " " + t.getId().getTag("status"), 44),
+                            t.count(), t.mean(TimeUnit.MILLISECONDS), p95(t), t.max(TimeUnit.MILLISECONDS),
+                            sqlTime.map(s -> fixed(s.mean(TimeUnit.MILLISECONDS))).orElse("-"),
+                            statements.map(s -> fixed(s.mean())).orElse("-"),
+                            statements.map(s -> String.valueOf((long) s.max())).orElse("-")));
+                });
+
+        // ✅ PDFs: layout time vs. time handing bytes to the client
+        out.append(String.format(Locale.ROOT, "%n%-20s %7s %9s %9s %9s %9s %10s%n",
+                "pdf", "count", "build ms", "max ms", "write ms", "max ms", "mean KB"));
+        registry.find("tailor.pdf.build").timers().forEach(build -> {
+            String document = build.getId().getTag("document");
+            Timer write = registry.find("tailor.pdf.write").tag("document", document).timer();
+            DistributionSummary size = registry.find("tailor.pdf.size").tag("document", document).summary();
+            out.append(String.format(Locale.ROOT, "%-20s %7d %9.1f %9.1f %9s %9s %10s%n",
+                    document, build.count(), build.mean(TimeUnit.MILLISECONDS), build.max(TimeUnit.MILLISECONDS),
+                    write != null ? fixed(write.mean(TimeUnit.MILLISECONDS)) : "-",
+                    write != null ? fixed(write.max(TimeUnit.MILLISECONDS)) : "-",
+                    size != null ? fixed(size.mean() / 1024) : "-"));
+        });
+
+        // ✅ Render threads: waiting in the queue and refusals mean more PDFs were asked for than the cores can lay out
+        Timer queueWait = registry.find("tailor.pdf.queue.wait").timer();
+        if (queueWait != null) {
+            Counter rejected = registry.find("tailor.pdf.rejected").counter();
+            out.append(String.format(Locale.ROOT, "pdf render pool: %s active, %s queued, queue wait mean %.1f ms"
+                            + " / max %.1f ms, %d refused (503)%n",
+                    value("tailor.pdf.active"), value("tailor.pdf.queued"), queueWait.mean(TimeUnit.MILLISECONDS),
+                    queueWait.max(TimeUnit.MILLISECONDS), rejected != null ? (long) rejected.count() : 0));
+        }
+
+        // ✅ Connection pools: waiting for the single writer is the usual bottleneck
+        out.append(String.format(Locale.ROOT, "%n%-20s %9s %9s %9s %7s %7s %8s%n",
+                "pool", "acquires", "wait ms", "max ms", "active", "idle", "pending"));
+        registry.find("hikaricp.connections.acquire").timers().forEach(t -> {
+            String pool = t.getId().getTag("pool");
+            out.append(String.format(Locale.ROOT, "%-20s %9d %9.2f %9.1f %7s %7s %8s%n",
+                    pool, t.count(), t.mean(TimeUnit.MILLISECONDS), t.max(TimeUnit.MILLISECONDS),
+                    gauge("hikaricp.connections.active", pool), gauge("hikaricp.connections.idle", pool),
+                    gauge("hikaricp.connections.pending", pool)));
+        });
+
+        // ✅ Whole-application Hibernate counters (requests, startup and background work together)
+        Statistics stats = sessionFactory.getStatistics();
+        out.append(String.format(Locale.ROOT, "%nstatements prepared %d, queries %d (slowest %d ms: %s)%n",
+                stats.getPrepareStatementCount(), stats.getQueryExecutionCount(),
+                stats.getQueryExecutionMaxTime(), stats.getQueryExecutionMaxTimeQueryString()));
+        out.append(String.format(Locale.ROOT, "%nmax ms is the largest value of the last couple of minutes;"
+                + " Prometheus format at /actuator/prometheus, cache regions at /admin/cache%n"));
+
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(out.toString());
+    }
+
+    private String value(String name) {
+        Gauge gauge = registry.find(name).gauge();
+        return gauge != null ? String.valueOf((long) gauge.value()) : "-";
+    }
+
+    private String gauge(String name, String pool) {
+        Gauge gauge = registry.find(name).tag("pool", pool).gauge();
+        return gauge != null ? String.valueOf((long) gauge.value()) : "-";
+    }
+
+    // Client-side percentile configured for http.server.requests in application.properties
+    private static String p95(Timer timer) {
+        for (ValueAtPercentile v : timer.takeSnapshot().percentileValues()) {
+            if (v.percentile() == 0.95) return fixed(v.value(TimeUnit.MILLISECONDS));
+        }
+        return "-";
+    }
+
+    private static String fixed(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String abbreviate(String text, int width) {
+        return text.length() <= width ? text : text.substring(0, width - 1) + "…";
+    }
+}
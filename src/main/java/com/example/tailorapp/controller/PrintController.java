@@ -3,25 +3,33 @@ package com.example.tailorapp.controller;
 import com.example.tailorapp.model.Client;
 import com.example.tailorapp.model.DressMeasurement;
 import com.example.tailorapp.model.WaistcoatMeasurement;
+import com.example.tailorapp.pdf.BatchSlipRenderer;
+import com.example.tailorapp.pdf.PdfMetrics;
+import com.example.tailorapp.pdf.PdfRenderPool;
+import com.example.tailorapp.pdf.SlipCache;
+import com.example.tailorapp.pdf.SlipRenderer;
+import com.example.tailorapp.printjob.PrintJob;
+import com.example.tailorapp.printjob.PrintJobService;
 import com.example.tailorapp.service.ClientService;
 import com.example.tailorapp.service.MeasurementService;
 import com.example.tailorapp.service.StorageProperties;
 import com.example.tailorapp.service.WaistcoatService;
-import com.lowagie.text.*;
-import com.lowagie.text.Image;
-import com.lowagie.text.Rectangle;
-import com.lowagie.text.pdf.PdfPCell;
-import com.lowagie.text.pdf.PdfPTable;
-import com.lowagie.text.pdf.PdfWriter;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
-import java.awt.*;
-import java.util.Comparator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/print")
@@ -32,342 +40,211 @@ public class PrintController {
     private final MeasurementService measurementService;
     private final StorageProperties storageProperties;
     private final WaistcoatService waistcoatService;
+    private final SlipRenderer slipRenderer;
+    private final BatchSlipRenderer batchSlipRenderer;
+    private final PdfMetrics pdfMetrics;
+    private final PdfRenderPool pdfPool;
+    private final SlipCache slipCache;
+    private final PrintJobService printJobs;
 
     public PrintController(ClientService clientService,
                            MeasurementService measurementService,
-                           StorageProperties storageProperties, WaistcoatService waistcoatService) {
+                           StorageProperties storageProperties, WaistcoatService waistcoatService,
+                           SlipRenderer slipRenderer, BatchSlipRenderer batchSlipRenderer,
+                           PdfMetrics pdfMetrics, PdfRenderPool pdfPool, SlipCache slipCache,
+                           PrintJobService printJobs) {
         this.clientService = clientService;
         this.measurementService = measurementService;
         this.storageProperties = storageProperties;
         this.waistcoatService = waistcoatService;
+        this.slipRenderer = slipRenderer;
+        this.batchSlipRenderer = batchSlipRenderer;
+        this.pdfMetrics = pdfMetrics;
+        this.pdfPool = pdfPool;
+        this.slipCache = slipCache;
+        this.printJobs = printJobs;
     }
 
     // Print PDF
     @GetMapping("/dress/{id}")
-    public void printClientSlip(@PathVariable Long id, HttpServletResponse response) throws Exception {
+    public void printClientSlip(@PathVariable Long id, ServletWebRequest request, HttpServletResponse response)
+            throws Exception {
         Optional<Client> c = clientService.findById(id);
         if (c.isEmpty()) return;
 
-        Client client = c.get();
-
-        Optional<DressMeasurement> latestMeasurement = measurementService.findByClient(id)
-                .stream()
-                .max(Comparator.comparing(DressMeasurement::getDate, Comparator.nullsLast(Comparator.naturalOrder())));
-
+        Optional<DressMeasurement> latestMeasurement = latestDress(id);
         if (latestMeasurement.isEmpty()) return;
 
-        DressMeasurement dressMeasurement = latestMeasurement.get();
-
-        response.setContentType("application/pdf");
-        response.setHeader("Content-Disposition", "inline; filename=client_" + id + "_slip.pdf");
-
-        Rectangle slipSize = new Rectangle(PageSize.A4.getWidth() / 2, PageSize.A4.getHeight() / 2);
-        Document document = new Document(slipSize, 15, 15, 10, 20); // extra bottom margin for footer
-        String now = new java.text.SimpleDateFormat("dd/MM/yyyy HH:mm").format(new java.util.Date());
-
-        PdfWriter writer = PdfWriter.getInstance(document, response.getOutputStream());
-        writer.setPageEvent(new FooterHandler(now)); // attach footer handler
-        document.open();
-
-        // === Title ===
-        Paragraph title = new Paragraph(nvl(client.getName() + " (" + client.getId() + ")"),
-                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10));
-        title.setAlignment(Element.ALIGN_CENTER);
-        title.setSpacingAfter(3f);
-        document.add(title);
-
-// === Extra Info Row (Dress Qty, Collar, Bain, Design) ===
-        PdfPTable infoTable = new PdfPTable(4);
-        infoTable.setWidthPercentage(100);
-        infoTable.setWidths(new float[]{25f, 25f, 25f, 25f});
-        infoTable.setSpacingAfter(6f);
-
-// Row content
-        infoTable.addCell(makeInfoCell("Dress Qty: " + nvl(dressMeasurement.getDressQty())));
-        infoTable.addCell(makeInfoCell("With Collar: " + nvl(dressMeasurement.getWithCollar())));
-        infoTable.addCell(makeInfoCell("With Bain: " + nvl(dressMeasurement.getWithBain())));
-        infoTable.addCell(makeInfoCell("With Design: " + nvl(dressMeasurement.getWithDesign())));
-
-        document.add(infoTable);
-
-        document.add(new Paragraph(" ", FontFactory.getFont(FontFactory.HELVETICA, 4)));
-
-        // === Measurements ===
-            addKameezSection(document, dressMeasurement);
-            addShalwarSection(document, dressMeasurement);
-            addDesignSection(document, dressMeasurement);
-            addNotesSection(document, dressMeasurement.getNotes());
-
-        document.close();
-    }
-
-    private PdfPCell makeInfoCell(String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(nvl(text),
-                FontFactory.getFont(FontFactory.HELVETICA, 8)));
-        cell.setBorder(Rectangle.NO_BORDER);
-        cell.setHorizontalAlignment(Element.ALIGN_LEFT);
-        cell.setVerticalAlignment(Element.ALIGN_CENTER);
-        cell.setPadding(2f);
-        return cell;
-    }
-
-    // === Kameez Section ===
-    private void addKameezSection(Document doc, DressMeasurement m) throws DocumentException {
-        PdfPTable table = createSectionTable("Kameez Measurements");
-
-        addRow4IfNotNull(table, "Length", nvl(m.getKameezLength()), "Arm", nvl(m.getArm()));
-        addRow4IfNotNull(table, "Shoulder-aram", nvl(m.getShoulderArm()), "Upper arm", nvl(m.getUpperArm()));
-        addRow4IfNotNull(table, "Center aram", nvl(m.getCenterArm()),  "Lower arm", nvl(m.getLowerArm()));
-        addRow4IfNotNull(table, "Cuff length", nvl(m.getCuffLength()), "Cuff width", nvl(m.getCuffWidth()));
-        addRow4IfNotNull(table, "Terra", nvl(m.getTerra()), "Terra down", nvl(m.getTerraDown()));
-        addRow4IfNotNull(table, "Collar size", nvl(m.getCollarSize()), "Bain size", nvl(m.getBainSize()));
-        addRow4IfNotNull(table, "Chest", nvl(m.getChest()), "Chest fitting", nvl(m.getChestFitting()));
-        addRow4IfNotNull(table, "Waist", nvl(m.getWaist()), "Hip", nvl(m.getHip()));
-        doc.add(table);
-        doc.add(new Paragraph(" ", FontFactory.getFont(FontFactory.HELVETICA, 4)));
+        DressMeasurement m = latestMeasurement.get();
+        slip(request, response, "dress", c.get(), m.getId(), m, out -> slipRenderer.writeDress(c.get(), m, out));
     }
 
-    // === Shalwar Section ===
-    private void addShalwarSection(Document doc, DressMeasurement m) throws DocumentException {
-        PdfPTable table = createSectionTable("Shalwar Measurements");
-
-        addRow4IfNotNull(table, "Length", nvl(m.getShalwarLength()),  "Fitting", nvl(m.getShalwarFitting()));
-        addRow4IfNotNull(table,"Asan", nvl(m.getAsan()), "Payncha", nvl(m.getPayncha()));
-
-        doc.add(table);
-        doc.add(new Paragraph(" ", FontFactory.getFont(FontFactory.HELVETICA, 4)));
-    }
-
-    // === Design Section ===
-    private void addDesignSection(Document doc, DressMeasurement m) throws DocumentException {
-        PdfPTable table = createSectionTable("Design & Finishing");
-
-        addRow4IfNotNull(table,"Collar design", nvl(m.getCollarType()), "", null);
-        addImageRow4(table, "Bain design", m.getBainType(), "Cuff design", m.getCuffDesign());
-        addImageRow4(table, "Front pocket", m.getFrontPocket() ? "Yes" : "No", "Front pocket design", m.getFrontPocketType());
-        addRow4IfNotNull(table, "Side pocket", nvl(m.getSidePocket()), "Shalwar pocket", m.getShalwarPocket() ? "Yes" : "No");
-        addRow4IfNotNull(table, "Daman type", m.getDamanType(), "Daman stitching", nvl(m.getDamanStitching()));
-        addRow4IfNotNull(table,  "Cuff type", m.getCuffType(), "Stitching", nvl(m.getStitchType()));
-        addRow4IfNotNull(table, "Button", nvl(m.getButtonType()), "Design stitch", (m.getDesignStitch() != null && m.getDesignStitch()) ? "Yes" : "No");
-        addRow4IfNotNull(table, "Front patti design", nvl(m.getFrontPattiType()), "Front patti kaj", nvl(m.getFrontPattiKaj()));
-        addRow4IfNotNull(table, "Kanta", (m.getKanta() != null && m.getKanta()) ? "Yes" : "No", "Jali", nvl(m.getJali()));
-
-        doc.add(table);
-        doc.add(new Paragraph(" ", FontFactory.getFont(FontFactory.HELVETICA, 4)));
-    }
-
-    // === Notes Section ===
-    private void addNotesSection(Document doc, String note) throws DocumentException {
-        Paragraph heading = new Paragraph("Notes:",
-                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 7));
-        heading.setSpacingBefore(3f);
-        doc.add(heading);
-
-        PdfPCell cell = new PdfPCell(new Phrase(nvl(note), FontFactory.getFont(FontFactory.HELVETICA, 6)));
-        cell.setFixedHeight(15f); // roughly 3 lines
-        cell.setVerticalAlignment(Element.ALIGN_TOP);
-        cell.setPadding(4f);
-        cell.setBorder(Rectangle.NO_BORDER); // ✅ remove all borders
-
-        PdfPTable noteTable = new PdfPTable(1);
-        noteTable.setWidthPercentage(100);
-        noteTable.addCell(cell);
-        noteTable.getDefaultCell().setBorder(Rectangle.NO_BORDER); // ensure table has no border too
-
-        doc.add(noteTable);
-    }
-
-
-    // === Helpers ===
-    private PdfPTable createSectionTable(String title) throws DocumentException {
-        // 4 columns with custom widths: label(30%), value(20%), label(30%), value(20%)
-        PdfPTable table = new PdfPTable(4);
-        table.setWidthPercentage(100);
-        table.setWidths(new float[]{30f, 15f, 30f, 15f});
-
-        PdfPCell headingCell = new PdfPCell(
-                new Phrase(title, FontFactory.getFont(FontFactory.HELVETICA_BOLD, 8, Color.WHITE)));
-        headingCell.setBackgroundColor(Color.DARK_GRAY);
-        headingCell.setColspan(4);
-        headingCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-        headingCell.setPadding(2f);
-        table.addCell(headingCell);
+    // Print PDF
+    @GetMapping("/waistcoat/{id}")
+    public void printWaistcoatSlip(@PathVariable Long id, ServletWebRequest request, HttpServletResponse response)
+            throws Exception {
+        Optional<Client> c = clientService.findById(id);
+        if (c.isEmpty()) return;
 
-        return table;
-    }
+        Optional<WaistcoatMeasurement> latestMeasurement = latestWaistcoat(id);
+        if (latestMeasurement.isEmpty()) return;
 
-    private void addRow4(PdfPTable table, String l1, String v1, String l2, String v2) {
-        table.addCell(makeLabelCell(l1));
-        table.addCell(makeValueCell(v1));
-        table.addCell(makeLabelCell(l2));
-        table.addCell(makeValueCell(v2));
+        WaistcoatMeasurement w = latestMeasurement.get();
+        slip(request, response, "waistcoat", c.get(), w.getId(), w, out -> slipRenderer.writeWaistcoat(c.get(), w, out));
     }
 
-    private void addRow4IfNotNull(PdfPTable table, String l1, String v1, String l2, String v2) {
-        boolean hasFirst = v1 != null && !v1.isEmpty();
-        boolean hasSecond = v2 != null && !v2.isEmpty();
-
-        if (!hasFirst && !hasSecond) return; // skip entire row if both are null/empty
-
-        if (!hasFirst && hasSecond) {
-            // shift second column left (no heading gap)
-            table.addCell(makeLabelCell(l2));
-            table.addCell(makeValueCell(v2));
-            table.addCell(new PdfPCell()); // fill remaining empty cells
-            table.addCell(new PdfPCell());
-        } else if (hasFirst && !hasSecond) {
-            table.addCell(makeLabelCell(l1));
-            table.addCell(makeValueCell(v1));
-            table.addCell(new PdfPCell());
-            table.addCell(new PdfPCell());
-        } else {
-            addRow4(table, l1, v1, l2, v2);
+    // Print many slips into one PDF: either the latest slip of each listed client, or every slip dated on a day
+    @GetMapping("/batch/{type}")
+    public void printBatch(@PathVariable String type,
+                           @RequestParam(required = false) List<Long> ids,
+                           @RequestParam(required = false) LocalDate date,
+                           HttpServletResponse response) throws Exception {
+        boolean dress = "dress".equals(type);
+        if (!dress && !"waistcoat".equals(type)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
-    }
-
-    private void addImageRow4(PdfPTable table, String l1, String t1, String l2, String t2) {
-        table.addCell(makeLabelCell(l1));
-        table.addCell(getImageCell(t1));
-        table.addCell(makeLabelCell(l2));
-        table.addCell(getImageCell(t2));
-    }
 
-    private PdfPCell makeLabelCell(String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(text,
-                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 6)));
-        cell.setBackgroundColor(Color.LIGHT_GRAY);
-        cell.setHorizontalAlignment(Element.ALIGN_LEFT);
-        cell.setPadding(3f); // increased for more readable rows
-        return cell;
-    }
+        List<Callable<byte[]>> slips = collectSlips(dress, ids, date).stream().map(PendingSlip::render).toList();
+        if (slips.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "No slips to print");
+            return;
+        }
 
-    private PdfPCell makeValueCell(String text) {
-        PdfPCell cell = new PdfPCell(new Phrase(nvl(text),
-                FontFactory.getFont(FontFactory.HELVETICA, 7)));
-        cell.setHorizontalAlignment(Element.ALIGN_CENTER);   // center horizontally
-        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);     // center vertically
-        cell.setPadding(1.5f);
-        return cell;
+        render(response, "batch-" + type, type + "_slips.pdf", out -> batchSlipRenderer.renderMerged(slips, out));
     }
 
-    private PdfPCell getImageCell(String type) {
-        PdfPCell cell = new PdfPCell();
-        cell.setHorizontalAlignment(Element.ALIGN_CENTER);   // center horizontally
-        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);     // center vertically
-        cell.setPadding(1.5f);
-
-        if (type == null) {
-            cell.setPhrase(new Phrase(""));
-            return cell;
-        }
+    // ✅ A dress / waistcoat slip as a background job; the same data submitted again gives the same job back
+    @PostMapping("/jobs/{type}/{id}")
+    public ResponseEntity<PrintJob.Status> submitSlip(@PathVariable String type, @PathVariable Long id) {
+        boolean dress = "dress".equals(type);
+        if (!dress && !"waistcoat".equals(type)) return ResponseEntity.notFound().build();
 
-        try {
-            String fileName = switch (type) {
-                case "Round" -> "pocket_round.png";
-                case "Cut" -> "pocket_cut.png";
-                case "Square" -> "pocket_square.png";
-                case "Round-Bain" -> "bain_round.png";
-                case "Square-Bain" -> "bain_square.png";
-                case "Cut-Bain" -> "bain_cut.png";
-                case "Round-Cuff" -> "cuff_round.png";
-                case "Square-Cuff" -> "cuff_square.png";
-                case "Cut-Cuff" -> "cuff_cut.png";
-                default -> null;
-            };
-
-            if (fileName != null) {
-                String basePath = System.getProperty("user.dir") + "/build/resources/main/static/images/";
-                Image img = Image.getInstance(basePath + fileName);
-                img.scaleToFit(14, 14);
-                img.setAlignment(Element.ALIGN_CENTER);       // ensure image itself is centered
-                cell.addElement(img);
+        Optional<Client> c = clientService.findById(id);
+        if (c.isEmpty()) return ResponseEntity.notFound().build();
+        Optional<PendingSlip> slip = dress
+                ? latestDress(id).map(m -> dressSlip(c.get(), m))
+                : latestWaistcoat(id).map(w -> waistcoatSlip(c.get(), w));
+        if (slip.isEmpty()) return ResponseEntity.notFound().build();
+
+        return PrintJobController.accepted(printJobs.submit(slip.get().etag(), type, "client_" + id + "_slip.pdf",
+                (out, progress) -> {
+                    progress.total(1);
+                    out.write(slip.get().render().call());
+                    progress.advance(1);
+                }));
+    }
+
+    // ✅ A batch (same ids / date parameters as /print/batch/{type}) as a background job
+    @PostMapping("/jobs/batch/{type}")
+    public ResponseEntity<PrintJob.Status> submitBatch(@PathVariable String type,
+                                                       @RequestParam(required = false) List<Long> ids,
+                                                       @RequestParam(required = false) LocalDate date) {
+        boolean dress = "dress".equals(type);
+        if (!dress && !"waistcoat".equals(type)) return ResponseEntity.notFound().build();
+
+        List<PendingSlip> slips = collectSlips(dress, ids, date);
+        if (slips.isEmpty()) return ResponseEntity.notFound().build();
+
+        // Keyed by what gets printed, so an edit in between makes it a new job
+        String key = "batch-" + type + " " + slips.stream().map(PendingSlip::etag).collect(Collectors.joining(","));
+        return PrintJobController.accepted(printJobs.submit(key, "batch-" + type, type + "_slips.pdf",
+                (out, progress) -> {
+                    progress.total(slips.size());
+                    List<Callable<byte[]>> counted = new ArrayList<>(slips.size());
+                    for (PendingSlip slip : slips) {
+                        counted.add(() -> {
+                            byte[] pdf = slip.render().call();
+                            progress.advance(1);
+                            return pdf;
+                        });
+                    }
+                    batchSlipRenderer.renderMerged(counted, out);
+                }));
+    }
+
+    // Load everything up front on the request thread; rendering then needs no database access
+    private List<PendingSlip> collectSlips(boolean dress, List<Long> ids, LocalDate date) {
+        List<PendingSlip> slips = new ArrayList<>();
+        if (date != null) {
+            if (dress) {
+                for (DressMeasurement m : measurementService.findByDate(date)) slips.add(dressSlip(m.getClient(), m));
             } else {
-                cell.setPhrase(new Phrase(type, FontFactory.getFont(FontFactory.HELVETICA, 6)));
+                for (WaistcoatMeasurement w : waistcoatService.findByDate(date)) slips.add(waistcoatSlip(w.getClient(), w));
+            }
+        } else if (ids != null) {
+            for (Long id : new LinkedHashSet<>(ids)) {
+                Optional<Client> c = clientService.findById(id);
+                if (c.isEmpty()) continue;
+                Client client = c.get();
+                if (dress) {
+                    latestDress(id).ifPresent(m -> slips.add(dressSlip(client, m)));
+                } else {
+                    latestWaistcoat(id).ifPresent(w -> slips.add(waistcoatSlip(client, w)));
+                }
             }
-        } catch (Exception e) {
-            cell.setPhrase(new Phrase(type, FontFactory.getFont(FontFactory.HELVETICA, 6)));
         }
-        return cell;
+        return slips;
     }
 
-    private String nvl(Object obj) {
-        return (obj == null) ? "" : obj.toString();
+    private PendingSlip dressSlip(Client client, DressMeasurement m) {
+        return new PendingSlip(slipCache.etag("dress", client, m), () -> slipRenderer.renderDress(client, m));
     }
 
-    // Print PDF
-    @GetMapping("/waistcoat/{id}")
-    public void printWaistcoatSlip(@PathVariable Long id, HttpServletResponse response) throws Exception {
-        Optional<Client> c = clientService.findById(id);
-        if (c.isEmpty()) return;
-
-        Client client = c.get();
-
-        Optional<WaistcoatMeasurement> latestMeasurement = waistcoatService.findByClient(id)
-                .stream()
-                .max(Comparator.comparing(WaistcoatMeasurement::getDate, Comparator.nullsLast(Comparator.naturalOrder())));
+    private PendingSlip waistcoatSlip(Client client, WaistcoatMeasurement w) {
+        return new PendingSlip(slipCache.etag("waistcoat", client, w), () -> slipRenderer.renderWaistcoat(client, w));
+    }
 
-        if (latestMeasurement.isEmpty()) return;
+    // ✅ Reprints come out of SlipCache; a browser that already holds this version gets a 304 and nothing is rendered
+    private void slip(ServletWebRequest request, HttpServletResponse response, String document, Client client,
+                      Long measurementId, Object measurement, PdfMetrics.PdfWork work) throws Exception {
+        String etag = slipCache.etag(document, client, measurement);
+        if (request.checkNotModified(etag)) return;
 
-        WaistcoatMeasurement waistcoatMeasurements = latestMeasurement.get();
+        SlipCache.Slip slip = slipCache.get(document, measurementId, etag);
+        if (slip == null) {
+            ByteArrayOutputStream pdf = new ByteArrayOutputStream(32 * 1024);
+            if (!pdfPool.run(() -> pdfMetrics.render(document, pdf, work))) {
+                busy(response);
+                return;
+            }
+            slip = new SlipCache.Slip(etag, client.getId(), pdf.toByteArray());
+            slipCache.put(document, measurementId, slip);
+        }
 
         response.setContentType("application/pdf");
-        response.setHeader("Content-Disposition", "inline; filename=client_" + id + "_slip.pdf");
-
-        Rectangle slipSize = new Rectangle(PageSize.A4.getWidth() / 2, PageSize.A4.getHeight() / 2);
-        Document document = new Document(slipSize, 15, 15, 25, 20); // extra bottom margin for footer
-        String now = new java.text.SimpleDateFormat("dd/MM/yyyy HH:mm").format(new java.util.Date());
-
-        PdfWriter writer = PdfWriter.getInstance(document, response.getOutputStream());
-        writer.setPageEvent(new FooterHandler(now)); // attach footer handler
-        document.open();
-
-        // === Title ===
-        Paragraph title = new Paragraph(nvl(client.getName()),
-                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10));
-        title.setAlignment(Element.ALIGN_CENTER);
-        document.add(title);
-
-        document.add(new Paragraph(" ", FontFactory.getFont(FontFactory.HELVETICA, 4)));
-
-        // === Measurements ===
-            addWaistcoatSection(document, waistcoatMeasurements);
-            addNotesSection(document, waistcoatMeasurements.getNotes());
-
-        document.close();
+        response.setHeader("Content-Disposition", "inline; filename=client_" + client.getId() + "_slip.pdf");
+        response.setHeader("Cache-Control", "no-cache"); // keep it, but ask (If-None-Match) before reusing it
+        response.setContentLength(slip.pdf().length);
+        // The cached array itself goes to the socket buffer, no copy per reprint
+        response.getOutputStream().write(slip.pdf());
     }
 
-    // === waistcoat Section ===
-    private void addWaistcoatSection(Document doc, WaistcoatMeasurement m) throws DocumentException {
-        PdfPTable table = new PdfPTable(2);
-        table.setWidthPercentage(100);
-        table.setWidths(new float[]{40f, 60f});
-
-        PdfPCell headingCell = new PdfPCell(
-                new Phrase("Waistcoat Measurements", FontFactory.getFont(FontFactory.HELVETICA_BOLD, 8, Color.WHITE)));
-        headingCell.setBackgroundColor(Color.DARK_GRAY);
-        headingCell.setColspan(2);
-        headingCell.setHorizontalAlignment(Element.ALIGN_CENTER);
-        headingCell.setPadding(3f);
-        table.addCell(headingCell);
+    // Data is loaded on the request thread; the PDF itself is laid out on the render pool, or refused when it is full
+    private void render(HttpServletResponse response, String document, String fileName, PdfMetrics.PdfWork work)
+            throws Exception {
+        boolean accepted = pdfPool.run(() -> {
+            response.setContentType("application/pdf");
+            response.setHeader("Content-Disposition", "inline; filename=" + fileName);
+            pdfMetrics.render(document, response.getOutputStream(), work);
+        });
+        if (!accepted) busy(response);
+    }
 
-        addRow2IfNotNull(table, "Length", nvl(m.getLength()));
-        addRow2IfNotNull(table, "Shoulder", nvl(m.getShoulder()));
-        addRow2IfNotNull(table, "Neck", nvl(m.getNeck()));
-        addRow2IfNotNull(table, "Chest", nvl(m.getChest()));
-        addRow2IfNotNull(table, "Chest fitting", nvl(m.getChestFitting()));
-        addRow2IfNotNull(table, "Hip", nvl(m.getHip()));
-        addRow2IfNotNull(table, "Bain size", nvl(m.getBainSize()));
-        addRow2IfNotNull(table, "Bain design", nvl(m.getBainType()));
-        addRow2IfNotNull(table, "Daman design", nvl(m.getDamanType()));
+    private static void busy(HttpServletResponse response) throws IOException {
+        response.setHeader("Retry-After", "5");
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Busy printing, try again in a moment");
+    }
 
-        doc.add(table);
-        doc.add(new Paragraph(" ", FontFactory.getFont(FontFactory.HELVETICA, 4)));
+    // One loaded slip: what identifies its content, and how to render it
+    private record PendingSlip(String etag, Callable<byte[]> render) {
     }
 
-    private void addRow2IfNotNull(PdfPTable table, String label, String value) {
-        if (value == null || value.isEmpty()) return;
-        table.addCell(makeLabelCell(label));
-        table.addCell(makeValueCell(value));
+    private Optional<DressMeasurement> latestDress(Long clientId) {
+        return measurementService.findLatestByClient(clientId);
     }
 
+    private Optional<WaistcoatMeasurement> latestWaistcoat(Long clientId) {
+        return waistcoatService.findLatestByClient(clientId);
+    }
 }
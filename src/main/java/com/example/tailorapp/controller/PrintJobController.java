@@ -0,0 +1,73 @@
+package com.example.tailorapp.controller;
+
+import com.example.tailorapp.printjob.PrintJob;
+import com.example.tailorapp.printjob.PrintJobService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Background print jobs: submitted with POST /print/jobs/report, /print/jobs/dress/{id}, /print/jobs/waistcoat/{id}
+ * or /print/jobs/batch/{type} (same parameters as the direct /print URLs), then polled here until DONE.
+ */
+@Controller
+@RequestMapping("/print/jobs")
+public class PrintJobController {
+
+    private final PrintJobService jobs;
+
+    public PrintJobController(PrintJobService jobs) {
+        this.jobs = jobs;
+    }
+
+    // ✅ Every job still kept, newest first
+    @GetMapping
+    public ResponseEntity<List<PrintJob.Status>> list() {
+        return ResponseEntity.ok(jobs.list().stream().map(PrintJob::status).toList());
+    }
+
+    // ✅ State and progress (done / total units, percent once the total is known)
+    @GetMapping("/{id}")
+    public ResponseEntity<PrintJob.Status> status(@PathVariable String id) {
+        return jobs.find(id)
+                .map(job -> ResponseEntity.ok(job.status()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // ✅ The finished PDF, streamed from disk with its length (and Range support for big reports)
+    @GetMapping("/{id}/file")
+    public ResponseEntity<?> download(@PathVariable String id) {
+        Optional<PrintJob> job = jobs.find(id);
+        if (job.isEmpty()) return ResponseEntity.notFound().build();
+        if (job.get().state() != PrintJob.State.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(job.get().status());
+        }
+
+        Resource file = new FileSystemResource(job.get().file());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=" + job.get().fileName())
+                .body(file);
+    }
+
+    // 202 with the job (a new one or the same submission's earlier one), or 503 when the queue is full
+    static ResponseEntity<PrintJob.Status> accepted(Optional<PrintJob> job) {
+        return job.map(j -> ResponseEntity.accepted()
+                        .location(URI.create("/print/jobs/" + j.id()))
+                        .body(j.status()))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .build());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.tailorapp.controller;
+
+import com.example.tailorapp.service.PaymentsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.time.LocalDate;
+
+@Controller
+@RequestMapping("/receivables")
+public class ReceivablesController {
+
+    private final PaymentsService paymentsService;
+    private final int maxRows;
+
+    public ReceivablesController(PaymentsService paymentsService,
+                                 @Value("${tailor.receivables.max-rows:500}") int maxRows) {
+        this.paymentsService = paymentsService;
+        this.maxRows = maxRows;
+    }
+
+    // ✅ Clients with an outstanding balance, read straight from the client_balance rollup
+    @GetMapping
+    public String list(@RequestParam(defaultValue = "amount") String sort,
+                       @RequestParam(defaultValue = "false") boolean overdue,
+                       @RequestParam(defaultValue = "100") int limit,
+                       Model model) {
+        int n = Math.max(1, Math.min(limit, maxRows));
+
+        model.addAttribute("rows", paymentsService.findReceivables(sort, overdue, n));
+        model.addAttribute("totalOutstanding", paymentsService.totalOutstanding());
+        model.addAttribute("today", LocalDate.now());
+        model.addAttribute("sort", sort);
+        model.addAttribute("overdue", overdue);
+        model.addAttribute("limit", n);
+        return "receivables/list";
+    }
+}
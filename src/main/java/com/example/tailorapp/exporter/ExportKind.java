@@ -0,0 +1,77 @@
+package com.example.tailorapp.exporter;
+
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.DressMeasurement;
+import com.example.tailorapp.model.MeasurementVersion;
+import com.example.tailorapp.model.PaymentInstallment;
+import com.example.tailorapp.model.Payments;
+import com.example.tailorapp.model.WaistcoatMeasurement;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+// One exported table. Columns are the entity's plain fields in declaration order, plus the parent's id
+public enum ExportKind {
+
+    CLIENTS(Client.class, null, null),
+    DRESS(DressMeasurement.class, "clientId", r -> ((DressMeasurement) r).getClient()),
+    WAISTCOAT(WaistcoatMeasurement.class, "clientId", r -> ((WaistcoatMeasurement) r).getClient()),
+    PAYMENTS(Payments.class, "clientId", r -> ((Payments) r).getClient()),
+    INSTALLMENTS(PaymentInstallment.class, "paymentId", r -> ((PaymentInstallment) r).getPayment()),
+    MEASUREMENT_VERSIONS(MeasurementVersion.class, null, null);
+
+    public record Column(String name, Function<Object, Object> value) {
+    }
+
+    private final List<Column> columns;
+
+    ExportKind(Class<?> entityType, String parentColumn, Function<Object, Object> parent) {
+        List<Column> cols = new ArrayList<>();
+        for (Field field : entityType.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) continue;
+            PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(entityType, Introspector.decapitalize(field.getName()));
+            // Associations are left out; the parent is exported as its id only
+            if (pd == null || pd.getReadMethod() == null || !BeanUtils.isSimpleValueType(pd.getPropertyType())) continue;
+            cols.add(new Column(pd.getName(), getter(pd.getReadMethod())));
+        }
+        if (parent != null) {
+            // Only the id is read, so a lazy proxy is never initialised
+            cols.add(1, new Column(parentColumn, r -> {
+                Object p = parent.apply(r);
+                return p == null ? null : p instanceof Client c ? c.getId() : ((Payments) p).getId();
+            }));
+        }
+        this.columns = List.copyOf(cols);
+    }
+
+    public List<Column> columns() {
+        return columns;
+    }
+
+    public String fileName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ExportKind parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static Function<Object, Object> getter(Method read) {
+        return row -> {
+            try {
+                return read.invoke(row);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Cannot read " + read.getName(), e);
+            }
+        };
+    }
+}
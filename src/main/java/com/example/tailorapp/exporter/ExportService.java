@@ -0,0 +1,140 @@
+package com.example.tailorapp.exporter;
+
+import com.example.tailorapp.repository.ClientRepository;
+import com.example.tailorapp.repository.MeasurementRepository;
+import com.example.tailorapp.repository.MeasurementVersionRepository;
+import com.example.tailorapp.repository.PaymentInstallmentRepository;
+import com.example.tailorapp.repository.PaymentsRepository;
+import com.example.tailorapp.repository.WaistcoatRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes a whole table as CSV or NDJSON straight from a forward-only cursor.
+ * Runs in a read-only transaction, so it holds one read-pool connection on a WAL snapshot and never blocks writers;
+ * the persistence context is cleared every CLEAR_EVERY rows, so heap use doesn't grow with the table,
+ * and nothing read goes into the second-level cache, so an export doesn't push out the working set.
+ */
+@Service
+public class ExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int CLEAR_EVERY = 1000;
+
+    private final EntityManager entityManager;
+    private final ClientRepository clientRepository;
+    private final MeasurementRepository measurementRepository;
+    private final WaistcoatRepository waistcoatRepository;
+    private final PaymentsRepository paymentsRepository;
+    private final PaymentInstallmentRepository installmentRepository;
+    private final MeasurementVersionRepository versionRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(EntityManager entityManager,
+                         ClientRepository clientRepository,
+                         MeasurementRepository measurementRepository,
+                         WaistcoatRepository waistcoatRepository,
+                         PaymentsRepository paymentsRepository,
+                         PaymentInstallmentRepository installmentRepository,
+                         MeasurementVersionRepository versionRepository,
+                         ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.clientRepository = clientRepository;
+        this.measurementRepository = measurementRepository;
+        this.waistcoatRepository = waistcoatRepository;
+        this.paymentsRepository = paymentsRepository;
+        this.installmentRepository = installmentRepository;
+        this.versionRepository = versionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Returns the number of rows written
+    @Transactional(readOnly = true)
+    public long export(ExportKind kind, Format format, Writer out) throws IOException {
+        List<ExportKind.Column> columns = kind.columns();
+        if (format == Format.CSV) writeCsvHeader(columns, out);
+
+        // The streamAll queries carry the same cache mode as a hint, but Hibernate only applies it while the query
+        // executes; rows are read from the cursor afterwards, under the session's mode
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+
+        long rows = 0;
+        try (Stream<?> stream = open(kind)) {
+            Iterator<?> it = stream.iterator();
+            while (it.hasNext()) {
+                Object row = it.next();
+                if (format == Format.CSV) writeCsvRow(columns, row, out);
+                else writeJsonRow(columns, row, out);
+
+                if (++rows % CLEAR_EVERY == 0) {
+                    entityManager.clear(); // detach everything read so far
+                    out.flush();           // and push it to the client
+                }
+            }
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+        out.flush();
+        return rows;
+    }
+
+    private Stream<?> open(ExportKind kind) {
+        return switch (kind) {
+            case CLIENTS -> clientRepository.streamAll();
+            case DRESS -> measurementRepository.streamAll();
+            case WAISTCOAT -> waistcoatRepository.streamAll();
+            case PAYMENTS -> paymentsRepository.streamAll();
+            case INSTALLMENTS -> installmentRepository.streamAll();
+            case MEASUREMENT_VERSIONS -> versionRepository.streamAll();
+        };
+    }
+
+    private static void writeCsvHeader(List<ExportKind.Column> columns, Writer out) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) out.write(',');
+            out.write(columns.get(i).name());
+        }
+        out.write('\n');
+    }
+
+    private static void writeCsvRow(List<ExportKind.Column> columns, Object row, Writer out) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) out.write(',');
+            Object value = columns.get(i).value().apply(row);
+            if (value != null) out.write(csv(value.toString()));
+        }
+        out.write('\n');
+    }
+
+    private void writeJsonRow(List<ExportKind.Column> columns, Object row, Writer out) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (ExportKind.Column column : columns) {
+            json.put(column.name(), column.value().apply(row));
+        }
+        out.write(objectMapper.writeValueAsString(json));
+        out.write('\n');
+    }
+
+    // RFC 4180 quoting, the same rules CsvReader parses
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.tailorapp.importer;
+
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.PaymentInstallment;
+import com.example.tailorapp.model.Payments;
+import com.example.tailorapp.service.ClientService;
+import com.example.tailorapp.service.PaymentsService;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.SynchronizeableQuery;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.PropertyAccessException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.stereotype.Service;
+
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams a CSV file into one entity table. Rows are parsed one at a time and written in chunks,
+ * each chunk in its own transaction on a StatelessSession (no persistence context, so memory stays flat).
+ * If a chunk fails, it is replayed row by row so only the offending rows are reported and skipped.
+ */
+@Service
+public class BulkImportService {
+
+    // Rebuilds the client_balance rollup for the clients touched by a payments chunk (same SQL as the backfill)
+    private static final String REBUILD_BALANCES = """
+            INSERT OR REPLACE INTO client_balance(client_id, total_amount, paid_amount, remaining_amount, open_count, oldest_due_date)
+            SELECT client_id, sum(coalesce(total_amount, 0)), sum(coalesce(paid_amount, 0)), sum(coalesce(remaining_amount, 0)),
+                   sum(remaining_amount > 0), min(CASE WHEN remaining_amount > 0 THEN return_date END)
+            FROM payments WHERE client_id IN (:ids) GROUP BY client_id""";
+
+    private final SessionFactory sessionFactory;
+    private final ClientService clientService;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final DefaultFormattingConversionService conversion = new DefaultFormattingConversionService(false);
+
+    public BulkImportService(EntityManagerFactory entityManagerFactory,
+                             ClientService clientService,
+                             Validator validator,
+                             @Value("${tailor.import.chunk-size:1000}") int chunkSize,
+                             @Value("${tailor.import.max-errors:1000}") int maxErrors) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.clientService = clientService;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+
+        // Dates in import files are ISO (2024-05-31) regardless of the server locale
+        DefaultFormattingConversionService.addDefaultFormatters(conversion);
+        DateTimeFormatterRegistrar iso = new DateTimeFormatterRegistrar();
+        iso.setUseIsoFormat(true);
+        iso.registerFormatters(conversion);
+    }
+
+    // Throws IllegalArgumentException when the header itself is unusable; row problems end up in the report
+    public ImportReport importCsv(ImportKind kind, Reader reader) throws IOException {
+        long started = System.currentTimeMillis();
+        ImportReport report = new ImportReport(kind, maxErrors);
+
+        try (CsvReader csv = new CsvReader(reader)) {
+            List<String> header = csv.next();
+            if (header == null) throw new IllegalArgumentException("File is empty");
+            RowMapper mapper = new RowMapper(kind, header, report);
+
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+            List<String> fields;
+            while ((fields = csv.next()) != null) {
+                report.rowRead();
+                long line = csv.recordLine();
+                try {
+                    chunk.add(mapper.map(line, fields));
+                } catch (IllegalArgumentException e) {
+                    report.error(line, e.getMessage());
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(kind, chunk, report);
+                    chunk.clear();
+                }
+            }
+            writeChunk(kind, chunk, report);
+        } finally {
+            // Chunks bypass the persistence context, so cached per-client query results can't know about the new rows
+            sessionFactory.getCache().evictQueryRegions();
+        }
+
+        report.finish(System.currentTimeMillis() - started);
+        return report;
+    }
+
+    private void writeChunk(ImportKind kind, List<PendingRow> chunk, ImportReport report) {
+        if (chunk.isEmpty()) return;
+        List<PendingRow> rows = kind.needsClient ? resolveClients(chunk, report) : chunk;
+        if (rows.isEmpty()) return;
+
+        try {
+            insert(kind, rows);
+            report.imported(rows.size());
+        } catch (RuntimeException chunkFailure) {
+            // Find the bad rows: replay the chunk one row per transaction
+            for (PendingRow row : rows) {
+                try {
+                    insert(kind, List.of(row));
+                    report.imported(1);
+                } catch (RuntimeException e) {
+                    report.error(row.line(), rootMessage(e));
+                }
+            }
+        }
+    }
+
+    private void insert(ImportKind kind, List<PendingRow> rows) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            session.setJdbcBatchSize(rows.size());
+            Transaction tx = session.beginTransaction();
+            try {
+                Set<Long> clientIds = new HashSet<>();
+                for (PendingRow row : rows) {
+                    row.wrapper().setPropertyValue("id", null); // a replayed row may carry the id of a rolled-back insert
+                    session.insert(row.entity());
+                    if (row.entity() instanceof Payments p) {
+                        insertOpeningInstallment(session, p, row.openingPaid());
+                        clientIds.add(p.getClient().getId());
+                    }
+                }
+                if (!clientIds.isEmpty()) {
+                    MutationQuery rebuild = session.createNativeMutationQuery(REBUILD_BALANCES);
+                    // A NativeQuery underneath; MutationQuery just doesn't declare the query-space methods
+                    ((SynchronizeableQuery) rebuild)
+                            .addSynchronizedQuerySpace("client_balance"); // leaves the client / measurement caches alone
+                    rebuild.setParameterList("ids", clientIds)
+                            .executeUpdate();
+                }
+                tx.commit();
+            } catch (RuntimeException e) {
+                if (tx.isActive()) tx.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private static void insertOpeningInstallment(StatelessSession session, Payments payment, long paid) {
+        if (paid <= 0) return;
+        PaymentInstallment installment = new PaymentInstallment();
+        installment.setPayment(payment);
+        installment.setPaidAmount(paid);
+        installment.setPaymentDate(payment.getDate());
+        installment.setNote("Opening balance (import)");
+        session.insert(installment);
+    }
+
+    // Looks up every client reference of the chunk with two queries and drops rows whose client doesn't exist
+    private List<PendingRow> resolveClients(List<PendingRow> chunk, ImportReport report) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> mobiles = new HashSet<>();
+        for (PendingRow row : chunk) {
+            if (row.clientId() != null) ids.add(row.clientId());
+            else mobiles.add(row.clientMobile());
+        }
+        Set<Long> existing = clientService.findExistingIds(ids);
+        Map<String, Long> byMobile = clientService.findIdsByMobile(mobiles);
+
+        List<PendingRow> resolved = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            Long id = row.clientId() != null
+                    ? (existing.contains(row.clientId()) ? row.clientId() : null)
+                    : byMobile.get(row.clientMobile());
+            if (id == null) {
+                report.error(row.line(), row.clientId() != null
+                        ? "No client with id " + row.clientId()
+                        : "No client with mobile " + row.clientMobile());
+                continue;
+            }
+            Client ref = new Client();
+            ref.setId(id);
+            row.wrapper().setPropertyValue("client", ref);
+            resolved.add(row);
+        }
+        return resolved;
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) e = e.getCause();
+        return e.getMessage();
+    }
+
+    private record PendingRow(long line, Object entity, BeanWrapper wrapper,
+                              Long clientId, String clientMobile, long openingPaid) {
+    }
+
+    // Header -> entity property binding, worked out once per file
+    private class RowMapper {
+
+        private final ImportKind kind;
+        private final String[] properties;
+        private int clientIdColumn = -1;
+        private int clientMobileColumn = -1;
+        private int paidColumn = -1;
+
+        RowMapper(ImportKind kind, List<String> header, ImportReport report) {
+            this.kind = kind;
+            this.properties = new String[header.size()];
+
+            Map<String, String> byKey = new HashMap<>();
+            for (PropertyDescriptor pd : new BeanWrapperImpl(kind.entityType).getPropertyDescriptors()) {
+                if (pd.getWriteMethod() != null && !kind.excluded.contains(pd.getName())) {
+                    byKey.put(key(pd.getName()), pd.getName());
+                }
+            }
+
+            for (int i = 0; i < header.size(); i++) {
+                String key = key(header.get(i));
+                if (kind.needsClient && key.equals("clientid")) clientIdColumn = i;
+                else if (kind.needsClient && key.equals("clientmobile")) clientMobileColumn = i;
+                else if (kind == ImportKind.PAYMENTS && key.equals("paidamount")) paidColumn = i;
+                else if (byKey.containsKey(key)) properties[i] = byKey.get(key);
+                else report.ignoreColumn(header.get(i));
+            }
+            if (kind.needsClient && clientIdColumn < 0 && clientMobileColumn < 0) {
+                throw new IllegalArgumentException("A clientId or clientMobile column is required");
+            }
+        }
+
+        PendingRow map(long line, List<String> fields) {
+            Object entity = kind.factory.get();
+            BeanWrapper bw = new BeanWrapperImpl(entity);
+            bw.setConversionService(conversion);
+
+            for (int i = 0; i < properties.length && i < fields.size(); i++) {
+                if (properties[i] == null) continue;
+                String value = fields.get(i).trim();
+                if (value.isEmpty()) continue;
+                try {
+                    bw.setPropertyValue(properties[i], value);
+                } catch (PropertyAccessException e) {
+                    throw new IllegalArgumentException(
+                            "Column " + properties[i] + ": cannot read '" + value + "' as "
+                                    + bw.getPropertyType(properties[i]).getSimpleName());
+                }
+            }
+
+            Long clientId = null;
+            String clientMobile = null;
+            if (kind.needsClient) {
+                String id = cell(fields, clientIdColumn);
+                clientMobile = cell(fields, clientMobileColumn);
+                if (id != null) {
+                    try {
+                        clientId = Long.valueOf(id);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Column clientId: cannot read '" + id + "' as Long");
+                    }
+                } else if (clientMobile == null) {
+                    throw new IllegalArgumentException("Missing clientId / clientMobile");
+                }
+                // Same default as adding a measurement or payment by hand
+                if (bw.getPropertyValue("date") == null) bw.setPropertyValue("date", LocalDate.now());
+            }
+
+            long paid = 0;
+            if (entity instanceof Payments p) {
+                paid = paidAmount(cell(fields, paidColumn));
+                if (p.getTotalAmount() == null) {
+                    p.setTotalAmount(nz(p.getDressCount()) * nz(p.getDressRate())
+                            + nz(p.getWaistcoatCount()) * nz(p.getWaistcoatRate()));
+                }
+                PaymentsService.applyPaid(p, paid);
+            }
+
+            Set<ConstraintViolation<Object>> violations = validator.validate(entity);
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException(violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+            return new PendingRow(line, entity, bw, clientId, clientMobile, paid);
+        }
+
+        private long paidAmount(String value) {
+            if (value == null) return 0;
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Column paidAmount: cannot read '" + value + "' as Long");
+            }
+        }
+
+        private static String cell(List<String> fields, int column) {
+            if (column < 0 || column >= fields.size()) return null;
+            String value = fields.get(column).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private static long nz(Long v) {
+            return v != null ? v : 0;
+        }
+
+        // "Whats App No", "whats_app_no" and "whatsAppNo" all match the whatsAppNo property
+        private static String key(String name) {
+            return name.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+        }
+    }
+}
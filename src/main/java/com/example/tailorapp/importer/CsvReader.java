@@ -0,0 +1,84 @@
+package com.example.tailorapp.importer;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: one record at a time, so memory stays flat however large the file is.
+ * Handles quoted fields with commas, doubled quotes and line breaks, CRLF endings and a UTF-8 BOM.
+ */
+public class CsvReader implements Closeable {
+
+    private final BufferedReader in;
+    private long line = 0;       // physical lines consumed so far
+    private long recordLine = 0; // line the last returned record started on
+
+    public CsvReader(Reader reader) {
+        this.in = reader instanceof BufferedReader b ? b : new BufferedReader(reader, 64 * 1024);
+    }
+
+    // Next record, or null at end of input. Blank lines are skipped.
+    public List<String> next() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            if (text == null) return null;
+            line++;
+            if (line == 1 && !text.isEmpty() && text.charAt(0) == '\uFEFF') text = text.substring(1);
+        } while (text.isBlank());
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) break;
+                // Line break inside a quoted field
+                String more = in.readLine();
+                if (more == null) throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                line++;
+                field.append('\n');
+                text = more;
+                i = 0;
+                continue;
+            }
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public long recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
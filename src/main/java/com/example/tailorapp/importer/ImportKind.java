@@ -0,0 +1,38 @@
+package com.example.tailorapp.importer;
+
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.DressMeasurement;
+import com.example.tailorapp.model.Payments;
+import com.example.tailorapp.model.WaistcoatMeasurement;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// What a CSV file holds; columns are matched to these entities' fields by name
+public enum ImportKind {
+
+    CLIENTS(Client.class, Client::new, false, Set.of("id", "pictureFilename")),
+    DRESS(DressMeasurement.class, DressMeasurement::new, true, Set.of("id", "client")),
+    WAISTCOAT(WaistcoatMeasurement.class, WaistcoatMeasurement::new, true, Set.of("id", "client")),
+    // paidAmount is imported as an opening installment; remaining and status are derived
+    PAYMENTS(Payments.class, Payments::new, true,
+            Set.of("id", "client", "installments", "paidAmount", "remainingAmount", "paymentStatus"));
+
+    final Class<?> entityType;
+    final Supplier<Object> factory;
+    final boolean needsClient;
+    final Set<String> excluded;
+
+    @SuppressWarnings("unchecked")
+    <T> ImportKind(Class<T> entityType, Supplier<T> factory, boolean needsClient, Set<String> excluded) {
+        this.entityType = entityType;
+        this.factory = (Supplier<Object>) factory;
+        this.needsClient = needsClient;
+        this.excluded = excluded;
+    }
+
+    public static ImportKind parse(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
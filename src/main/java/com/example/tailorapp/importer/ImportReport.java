@@ -0,0 +1,67 @@
+package com.example.tailorapp.importer;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Outcome of one import; only the first maxErrors failures are kept verbatim so huge bad files stay cheap
+@Getter
+public class ImportReport {
+
+    public record RowError(long line, String message) {
+    }
+
+    private final ImportKind kind;
+    private final int maxErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private final List<String> ignoredColumns = new ArrayList<>();
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private long elapsedMs;
+
+    public ImportReport(ImportKind kind, int maxErrors) {
+        this.kind = kind;
+        this.maxErrors = maxErrors;
+    }
+
+    void rowRead() {
+        rowsRead++;
+    }
+
+    void imported(long rows) {
+        imported += rows;
+    }
+
+    void error(long line, String message) {
+        failed++;
+        if (errors.size() < maxErrors) errors.add(new RowError(line, message));
+    }
+
+    void ignoreColumn(String column) {
+        ignoredColumns.add(column);
+    }
+
+    void finish(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Import ").append(kind.name().toLowerCase()).append(": ")
+                .append(rowsRead).append(" rows read, ")
+                .append(imported).append(" imported, ")
+                .append(failed).append(" failed in ")
+                .append(elapsedMs).append(" ms\n");
+        if (!ignoredColumns.isEmpty()) sb.append("Ignored columns: ").append(String.join(", ", ignoredColumns)).append('\n');
+        // Client lookups fail at chunk time, so errors can arrive slightly out of line order
+        errors.sort(Comparator.comparingLong(RowError::line));
+        for (RowError e : errors) {
+            sb.append("line ").append(e.line()).append(": ").append(e.message()).append('\n');
+        }
+        if (failed > errors.size()) sb.append("... and ").append(failed - errors.size()).append(" more\n");
+        return sb.toString();
+    }
+}
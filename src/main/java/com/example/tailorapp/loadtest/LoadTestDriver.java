@@ -0,0 +1,219 @@
+package com.example.tailorapp.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Drives the app's own MVC endpoints over HTTP on localhost with a weighted mix of what the shop does all day.
+ * Open loop: requests are started on a fixed schedule (rate per second) whatever the server is doing,
+ * each on its own virtual thread, so a slow response delays nobody else's start time.
+ * Targets (client ids, payments, search terms) are sampled from the database before the run.
+ * The save and installment scenarios write, so LoadTestRunner only includes them on a generated database.
+ */
+@Component
+public class LoadTestDriver {
+
+    public enum Scenario {
+        LIST, SEARCH, VIEW, SAVE, INSTALLMENT, SLIP, REPORT;
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        // Saves a client / adds an installment
+        public boolean writes() {
+            return this == SAVE || this == INSTALLMENT;
+        }
+
+        static Scenario parse(String name) {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private record ClientRow(long id, String name, String mobile, String whatsAppNo, String address) {
+    }
+
+    private record Targets(List<ClientRow> clients, List<Long> paymentIds, List<String> terms, LocalDate reportEnd) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final int reportDays;
+
+    public LoadTestDriver(JdbcTemplate jdbc, @Value("${tailor.load-test.report-days:7}") int reportDays) {
+        this.jdbc = jdbc;
+        this.reportDays = reportDays;
+    }
+
+    // "list:20,search:20,..." -> weights in the given order
+    public static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.split(":");
+            weights.put(Scenario.parse(kv[0]), kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1);
+        }
+        return weights;
+    }
+
+    // Throws IllegalStateException when the database has nothing to aim at
+    public LoadTestReport run(URI base, double rate, Duration warmup, Duration duration,
+                              Map<Scenario, Integer> mix, int maxInFlight, long seed) throws InterruptedException {
+        Targets targets = sampleTargets();
+        Scenario[] wheel = wheel(mix);
+        Random random = new Random(seed);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .followRedirects(HttpClient.Redirect.NEVER) // form posts answer 302; that is success
+                    .build();
+
+            // Same schedule, results thrown away: lets the JIT and the caches settle first
+            if (!warmup.isZero()) {
+                drive(http, executor, base, targets, wheel, random, rate, warmup, maxInFlight, new LoadTestReport(rate));
+            }
+            LoadTestReport report = new LoadTestReport(rate);
+            long started = System.currentTimeMillis();
+            drive(http, executor, base, targets, wheel, random, rate, duration, maxInFlight, report);
+            report.finish(System.currentTimeMillis() - started);
+            return report;
+        }
+    }
+
+    private void drive(HttpClient http, ExecutorService executor, URI base, Targets targets, Scenario[] wheel,
+                       Random random, double rate, Duration duration, int maxInFlight, LoadTestReport report)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double interval = 1e9 / rate;
+
+        for (long n = 0; ; n++) {
+            long due = start + (long) (n * interval);
+            if (due >= end) break;
+            long wait = due - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            Scenario scenario = wheel[random.nextInt(wheel.length)];
+            HttpRequest request = request(scenario, base, targets, random);
+            if (!inFlight.tryAcquire()) {
+                report.dropped();
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                    long nanos = System.nanoTime() - due;
+                    if (response.statusCode() >= 400) report.failed(scenario, nanos, "HTTP " + response.statusCode());
+                    else report.completed(scenario, nanos);
+                } catch (Exception e) {
+                    report.failed(scenario, System.nanoTime() - due, e.getClass().getSimpleName());
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        // Let the stragglers finish before the next phase / the report
+        if (inFlight.tryAcquire(maxInFlight, 2, TimeUnit.MINUTES)) inFlight.release(maxInFlight);
+    }
+
+    private HttpRequest request(Scenario scenario, URI base, Targets t, Random random) {
+        ClientRow client = t.clients().get(random.nextInt(t.clients().size()));
+        return switch (scenario) {
+            case LIST -> get(base, "/clients");
+            case SEARCH -> get(base, "/clients?q=" + encode(t.terms().get(random.nextInt(t.terms().size()))));
+            case VIEW -> get(base, "/clients/view/" + client.id());
+            case SLIP -> get(base, "/print/dress/" + client.id());
+            case REPORT -> get(base, "/print/report?stream=true&startDate=" + t.reportEnd().minusDays(reportDays - 1)
+                    + "&endDate=" + t.reportEnd());
+            // Re-saves the client unchanged: the whole edit form, as the browser would post it
+            case SAVE -> {
+                Map<String, String> form = new LinkedHashMap<>();
+                form.put("id", String.valueOf(client.id()));
+                form.put("name", client.name());
+                form.put("mobile", client.mobile());
+                if (client.whatsAppNo() != null) form.put("whatsAppNo", client.whatsAppNo());
+                if (client.address() != null) form.put("address", client.address());
+                yield post(base, "/clients/save", form);
+            }
+            case INSTALLMENT -> post(base, "/payments/installment/add", Map.of(
+                    "paymentId", String.valueOf(t.paymentIds().get(random.nextInt(t.paymentIds().size()))),
+                    "paidAmount", "100", "note", "load test"));
+        };
+    }
+
+    private Targets sampleTargets() {
+        List<ClientRow> clients = jdbc.query(
+                "SELECT id, name, mobile, whats_app_no, address FROM client ORDER BY random() LIMIT 2000",
+                (rs, i) -> new ClientRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)));
+        List<Long> paymentIds = jdbc.queryForList("SELECT id FROM payments ORDER BY random() LIMIT 2000", Long.class);
+        if (clients.isEmpty() || paymentIds.isEmpty()) {
+            throw new IllegalStateException("No clients / payments to load-test against; generate data first (--generate-data)");
+        }
+
+        // What staff type: part of a name, a surname, or a few digits of a mobile number
+        List<String> terms = clients.stream().limit(200).flatMap(c -> {
+            String[] words = c.name().split(" ");
+            String mobile = c.mobile() != null && c.mobile().length() >= 8 ? c.mobile().substring(4, 8) : words[0];
+            return Stream.of(words[0].substring(0, Math.min(4, words[0].length())),
+                    words[words.length - 1], mobile);
+        }).distinct().collect(Collectors.toList());
+
+        // The last reportDays with payments; report dates are stored as epoch milliseconds
+        Long lastMillis = jdbc.queryForObject("SELECT max(date) FROM payments", Long.class);
+        LocalDate reportEnd = lastMillis != null
+                ? Instant.ofEpochMilli(lastMillis).atZone(ZoneOffset.UTC).toLocalDate()
+                : LocalDate.now();
+        return new Targets(clients, paymentIds, terms, reportEnd);
+    }
+
+    // Each scenario appears as often as its weight
+    private static Scenario[] wheel(Map<Scenario, Integer> mix) {
+        return mix.entrySet().stream()
+                .flatMap(e -> Stream.generate(e::getKey).limit(Math.max(e.getValue(), 0)))
+                .toArray(Scenario[]::new);
+    }
+
+    private static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    private static HttpRequest post(URI base, String path, Map<String, String> form) {
+        String body = form.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+        return HttpRequest.newBuilder(base.resolve(path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
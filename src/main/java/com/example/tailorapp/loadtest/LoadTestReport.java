@@ -0,0 +1,99 @@
+package com.example.tailorapp.loadtest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and failures of one load-test run, per scenario. Latency runs from the moment a request
+ * was due to be sent (not when it actually went out), so a stalled server shows up in the numbers
+ * instead of quietly lowering the request rate.
+ */
+public class LoadTestReport {
+
+    private final Map<LoadTestDriver.Scenario, List<Long>> latencies = new EnumMap<>(LoadTestDriver.Scenario.class);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    private final double targetRate;
+    private long elapsedMs;
+
+    LoadTestReport(double targetRate) {
+        this.targetRate = targetRate;
+        for (LoadTestDriver.Scenario s : LoadTestDriver.Scenario.values()) {
+            latencies.put(s, Collections.synchronizedList(new ArrayList<>()));
+        }
+    }
+
+    void completed(LoadTestDriver.Scenario scenario, long nanos) {
+        latencies.get(scenario).add(nanos);
+    }
+
+    // Counted in the latencies too: a failed request still took that long
+    void failed(LoadTestDriver.Scenario scenario, long nanos, String reason) {
+        completed(scenario, nanos);
+        errors.computeIfAbsent(scenario.label() + " " + reason, k -> new LongAdder()).increment();
+    }
+
+    // Not sent because max-in-flight requests were already waiting on the server
+    void dropped() {
+        dropped.increment();
+    }
+
+    void finish(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum() + dropped.sum();
+    }
+
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        List<Long> all = new ArrayList<>();
+        sb.append(String.format(Locale.ROOT, "%-12s %8s %7s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Map.Entry<LoadTestDriver.Scenario, List<Long>> e : latencies.entrySet()) {
+            List<Long> sorted;
+            synchronized (e.getValue()) {
+                sorted = new ArrayList<>(e.getValue());
+            }
+            if (sorted.isEmpty()) continue;
+            all.addAll(sorted);
+            sb.append(line(e.getKey().label(), sorted, errorsOf(e.getKey().label() + " ")));
+        }
+        sb.append(line("(all)", all, errorCount() - dropped.sum()));
+
+        double seconds = elapsedMs / 1000.0;
+        sb.append(String.format(Locale.ROOT, "%n%d requests in %.1f s: %.1f req/s sent (target %.1f), %d dropped%n",
+                all.size(), seconds, all.size() / seconds, targetRate, dropped.sum()));
+        new TreeMap<>(errors).forEach((reason, count) -> sb.append("  ").append(reason).append(": ")
+                .append(count.sum()).append('\n'));
+        return sb.toString();
+    }
+
+    private long errorsOf(String prefix) {
+        return errors.entrySet().stream().filter(e -> e.getKey().startsWith(prefix))
+                .mapToLong(e -> e.getValue().sum()).sum();
+    }
+
+    private static String line(String name, List<Long> nanos, long errors) {
+        Collections.sort(nanos);
+        double mean = nanos.stream().mapToLong(Long::longValue).average().orElse(0) / 1e6;
+        return String.format(Locale.ROOT, "%-12s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                name, nanos.size(), errors, mean, percentile(nanos, 0.50), percentile(nanos, 0.90),
+                percentile(nanos, 0.99), nanos.isEmpty() ? 0 : nanos.get(nanos.size() - 1) / 1e6);
+    }
+
+    // Nearest-rank percentile of sorted values, in milliseconds
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        int rank = (int) Math.ceil(p * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1) / 1e6;
+    }
+}
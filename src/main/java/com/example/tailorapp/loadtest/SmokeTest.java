@@ -0,0 +1,111 @@
+package com.example.tailorapp.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * One pass over what a build must be able to do, over HTTP on localhost: render the client list and a client page
+ * from the templates, and print a dress slip, a waistcoat slip and the payment report as complete PDFs.
+ * Meant for builds that can break in ways the compiler doesn't see (the native executable: missing reflection,
+ * resources or fonts); read-only, but needs a database with data in it (SyntheticDataRunner).
+ */
+@Component
+public class SmokeTest {
+
+    private final JdbcTemplate jdbc;
+
+    public SmokeTest(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Prints one line per check and returns how many failed; IllegalStateException when there is nothing to print
+    public int run(URI base, PrintStream out) throws InterruptedException {
+        Long dressClient = first("SELECT client_id FROM dress_measurement WHERE client_id IS NOT NULL LIMIT 1");
+        Long waistcoatClient = first("SELECT client_id FROM waistcoat_measurement WHERE client_id IS NOT NULL LIMIT 1");
+        Long lastMillis = first("SELECT max(date) FROM payments");
+        if (dressClient == null || lastMillis == null) {
+            throw new IllegalStateException("No measurements / payments to print; generate data first (--generate-data)");
+        }
+        // The last month with payments; report dates are stored as epoch milliseconds
+        LocalDate reportEnd = Instant.ofEpochMilli(lastMillis).atZone(ZoneOffset.UTC).toLocalDate();
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        int failed = 0;
+        failed += check(http, out, base, "client list", "/clients", false);
+        failed += check(http, out, base, "client page", "/clients/view/" + dressClient, false);
+        failed += check(http, out, base, "dress slip", "/print/dress/" + dressClient, true);
+        if (waistcoatClient != null) {
+            failed += check(http, out, base, "waistcoat slip", "/print/waistcoat/" + waistcoatClient, true);
+        }
+        failed += check(http, out, base, "payment report",
+                "/print/report?startDate=" + reportEnd.minusDays(30) + "&endDate=" + reportEnd, true);
+        return failed;
+    }
+
+    // 1 when it failed
+    private static int check(HttpClient http, PrintStream out, URI base, String name, String path, boolean pdf)
+            throws InterruptedException {
+        long started = System.nanoTime();
+        String problem;
+        int size = 0;
+        try {
+            HttpResponse<byte[]> response = http.send(
+                    HttpRequest.newBuilder(base.resolve(path)).timeout(Duration.ofSeconds(60)).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            size = response.body().length;
+            problem = pdf ? pdfProblem(response) : pageProblem(response);
+        } catch (IOException e) {
+            problem = e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+        }
+        long ms = (System.nanoTime() - started) / 1_000_000;
+
+        if (problem == null) {
+            out.printf("✅ %-15s %s  %,d bytes in %d ms%n", name, path, size, ms);
+            return 0;
+        }
+        out.printf("❌ %-15s %s  %s%n", name, path, problem);
+        return 1;
+    }
+
+    private static String pageProblem(HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) return "HTTP " + response.statusCode();
+        if (!contentType(response).startsWith("text/html")) return "content type " + contentType(response);
+        String html = new String(response.body(), StandardCharsets.UTF_8);
+        return html.contains("</html>") ? null : "page cut short";
+    }
+
+    // A whole PDF: the header up front and the end-of-file marker in the last kilobyte
+    private static String pdfProblem(HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) return "HTTP " + response.statusCode();
+        if (!contentType(response).startsWith("application/pdf")) return "content type " + contentType(response);
+        byte[] body = response.body();
+        if (!new String(body, 0, Math.min(5, body.length), StandardCharsets.ISO_8859_1).equals("%PDF-")) {
+            return "not a PDF";
+        }
+        int tail = Math.max(0, body.length - 1024);
+        return new String(body, tail, body.length - tail, StandardCharsets.ISO_8859_1).contains("%%EOF")
+                ? null : "PDF cut short";
+    }
+
+    private static String contentType(HttpResponse<?> response) {
+        return response.headers().firstValue("Content-Type").orElse("");
+    }
+
+    private Long first(String sql) {
+        List<Long> values = jdbc.queryForList(sql, Long.class);
+        return values.isEmpty() ? null : values.get(0);
+    }
+}
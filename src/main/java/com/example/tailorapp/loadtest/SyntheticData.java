@@ -0,0 +1,144 @@
+package com.example.tailorapp.loadtest;
+
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.DressMeasurement;
+import com.example.tailorapp.model.WaistcoatMeasurement;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Seeded, synthetic rows shaped like what staff type in: every slip field filled in quarter-inch steps,
+ * icon-backed values (pocket / bain / cuff types) set so slips exercise the image paths too.
+ * Shared by SyntheticDataGenerator and the JMH benchmarks; the same Random sequence gives the same rows.
+ */
+public final class SyntheticData {
+
+    public static final String[] NAMES = {"Ahmed", "Bilal", "Usman", "Hamza", "Imran", "Faisal", "Kashif", "Naveed",
+            "Omer", "Rizwan", "Saad", "Tariq", "Waqas", "Yasir", "Zeeshan", "Adeel", "Junaid", "Shahid"};
+    public static final String[] SURNAMES = {"Khan", "Ali", "Butt", "Sheikh", "Malik", "Qureshi", "Chaudhry", "Raza",
+            "Hussain", "Iqbal", "Javed", "Mirza"};
+    private static final String[] SHAPES = {"Round", "Square", "Cut"};
+
+    private SyntheticData() {
+    }
+
+    public static String name(Random random) {
+        return NAMES[random.nextInt(NAMES.length)] + " " + SURNAMES[random.nextInt(SURNAMES.length)];
+    }
+
+    public static Client client(Random random) {
+        Client c = new Client();
+        c.setName(name(random));
+        c.setMobile(String.format("03%02d%07d", random.nextInt(50), random.nextInt(10_000_000)));
+        c.setWhatsAppNo(random.nextInt(4) == 0 ? null : c.getMobile());
+        c.setAddress("House " + (1 + random.nextInt(500)) + ", Street " + (1 + random.nextInt(40)));
+        return c;
+    }
+
+    public static DressMeasurement dress(Random random, Client client, LocalDate date) {
+        DressMeasurement m = new DressMeasurement();
+        m.setClient(client);
+        m.setDate(date);
+        m.setKameezLength(size(random, 38, 44));
+        m.setArm(size(random, 22, 26));
+        m.setUpperArm(size(random, 13, 16));
+        m.setCenterArm(size(random, 11, 13));
+        m.setLowerArm(size(random, 9, 11));
+        m.setTerra(size(random, 17, 20));
+        m.setTerraDown(size(random, 16, 19));
+        m.setShoulderArm(size(random, 8, 10));
+        m.setChest(size(random, 36, 46));
+        m.setChestFitting(size(random, 1, 3));
+        m.setWaist(size(random, 32, 42));
+        m.setHip(size(random, 38, 46));
+        m.setRound(size(random, 44, 52));
+        m.setCollarSize(size(random, 14, 17));
+        m.setCollarType(String.valueOf(1 + random.nextInt(4)));
+        m.setBainSize(size(random, 14, 17));
+        m.setBainType(SHAPES[random.nextInt(3)] + "-Bain");
+        m.setDamanType(random.nextBoolean() ? "Round" : "Square");
+        m.setDamanStitching(random.nextBoolean() ? "Single" : "Double");
+        m.setSidePocket(String.valueOf(random.nextInt(3)));
+        m.setFrontPocket(random.nextBoolean());
+        m.setFrontPocketType(SHAPES[random.nextInt(3)]);
+        m.setCuffDesign(SHAPES[random.nextInt(3)] + "-Cuff");
+        m.setCuffLength(size(random, 8, 10));
+        m.setCuffWidth(size(random, 2, 3));
+        m.setCuffType(random.nextBoolean() ? "Single" : "Double");
+        m.setWristType(random.nextBoolean() ? "Cuff" : "Open");
+        m.setShalwarLength(size(random, 36, 42));
+        m.setShalwarFitting(size(random, 1, 3));
+        m.setAsan(size(random, 26, 32));
+        m.setPayncha(size(random, 7, 9));
+        m.setJali(String.valueOf(random.nextInt(3)));
+        m.setKanta(random.nextBoolean());
+        m.setShalwarPocket(random.nextBoolean());
+        m.setStitchType(random.nextBoolean() ? "Single" : "Double");
+        m.setDesignStitch(random.nextBoolean());
+        m.setButtonType(random.nextBoolean() ? "Plain" : "Metal");
+        m.setFrontPattiKaj(4 + random.nextInt(2));
+        m.setFrontPattiType(SHAPES[random.nextInt(3)]);
+        m.setNotes(random.nextInt(3) == 0 ? "Loose fitting on the chest, double stitch on the daman" : null);
+        m.setDressQty(1 + random.nextInt(4));
+        m.setWithCollar(random.nextInt(3));
+        m.setWithBain(random.nextInt(3));
+        m.setWithDesign(random.nextInt(3));
+        return m;
+    }
+
+    // The next order of the same client: a few body measurements drift, the style choices mostly stay
+    public static DressMeasurement nextDress(Random random, DressMeasurement previous, LocalDate date) {
+        DressMeasurement m = new DressMeasurement();
+        BeanUtils.copyProperties(previous, m);
+        m.setId(null);
+        m.setDate(date);
+        if (random.nextInt(3) == 0) m.setChest(previous.getChest() + drift(random));
+        if (random.nextInt(3) == 0) m.setWaist(previous.getWaist() + drift(random));
+        if (random.nextInt(4) == 0) m.setHip(previous.getHip() + drift(random));
+        if (random.nextInt(5) == 0) m.setKameezLength(previous.getKameezLength() + drift(random));
+        if (random.nextInt(5) == 0) m.setCuffDesign(SHAPES[random.nextInt(3)] + "-Cuff");
+        if (random.nextInt(6) == 0) m.setCollarType(String.valueOf(1 + random.nextInt(4)));
+        m.setDressQty(1 + random.nextInt(4));
+        return m;
+    }
+
+    public static WaistcoatMeasurement waistcoat(Random random, Client client, LocalDate date) {
+        WaistcoatMeasurement w = new WaistcoatMeasurement();
+        w.setClient(client);
+        w.setDate(date);
+        w.setLength(size(random, 26, 30));
+        w.setShoulder(size(random, 17, 20));
+        w.setNeck(size(random, 14, 17));
+        w.setChest(size(random, 36, 46));
+        w.setChestFitting(size(random, 1, 3));
+        w.setHip(size(random, 38, 46));
+        w.setBainSize(size(random, 14, 17));
+        w.setBainType(SHAPES[random.nextInt(3)] + "-Bain");
+        w.setDamanType(random.nextBoolean() ? "Round" : "Square");
+        w.setNotes(random.nextInt(3) == 0 ? "Two inside pockets" : null);
+        w.setQty(1 + random.nextInt(2));
+        return w;
+    }
+
+    public static WaistcoatMeasurement nextWaistcoat(Random random, WaistcoatMeasurement previous, LocalDate date) {
+        WaistcoatMeasurement w = new WaistcoatMeasurement();
+        BeanUtils.copyProperties(previous, w);
+        w.setId(null);
+        w.setDate(date);
+        if (random.nextInt(3) == 0) w.setChest(previous.getChest() + drift(random));
+        if (random.nextInt(4) == 0) w.setHip(previous.getHip() + drift(random));
+        w.setQty(1 + random.nextInt(2));
+        return w;
+    }
+
+    // Quarter-inch steps, as measured with a tape
+    private static double size(Random random, int min, int max) {
+        return min + random.nextInt((max - min) * 4 + 1) / 4.0;
+    }
+
+    private static double drift(Random random) {
+        return (random.nextInt(5) - 2) / 4.0;
+    }
+}
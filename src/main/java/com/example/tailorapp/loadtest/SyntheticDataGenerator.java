@@ -0,0 +1,181 @@
+package com.example.tailorapp.loadtest;
+
+import com.example.tailorapp.config.ClientBalanceInitializer;
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.DressMeasurement;
+import com.example.tailorapp.model.MeasurementVersion;
+import com.example.tailorapp.model.PaymentInstallment;
+import com.example.tailorapp.model.Payments;
+import com.example.tailorapp.model.WaistcoatMeasurement;
+import com.example.tailorapp.service.MeasurementHistoryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills an empty database with N synthetic clients, each with a run of orders over the last three years:
+ * a dress measurement row plus one version per earlier order (the same shape the app keeps history in),
+ * a waistcoat line for some clients, and one payment per order with its installments.
+ * Rows go in through stateless sessions in chunks, like the CSV import; balances are rebuilt at the end.
+ * The same seed and client count give the same data (dates are relative to the day it runs).
+ * The database is marked as generated (a synthetic_data table), which the load test requires before it writes.
+ */
+@Service
+public class SyntheticDataGenerator {
+
+    private static final long[] DRESS_RATES = {1200, 1500, 1800, 2000, 2500};
+
+    /** What was written. */
+    public record Summary(long clients, long dressRows, long waistcoatRows, long versions,
+                          long payments, long installments, long millis) {
+    }
+
+    private final SessionFactory sessionFactory;
+    private final JdbcTemplate jdbc;
+    private final MeasurementHistoryService history;
+    private final ClientBalanceInitializer balances;
+    private final int chunkSize;
+
+    public SyntheticDataGenerator(EntityManagerFactory entityManagerFactory,
+                                  JdbcTemplate jdbc,
+                                  MeasurementHistoryService history,
+                                  ClientBalanceInitializer balances,
+                                  @Value("${tailor.import.chunk-size:1000}") int chunkSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.jdbc = jdbc;
+        this.history = history;
+        this.balances = balances;
+        this.chunkSize = chunkSize;
+    }
+
+    public Summary generate(int clients, long seed) {
+        long started = System.currentTimeMillis();
+        Random random = new Random(seed);
+        LocalDate today = LocalDate.now();
+        long[] counts = new long[6];
+
+        for (int done = 0; done < clients; done += chunkSize) {
+            int size = Math.min(chunkSize, clients - done);
+            try (StatelessSession session = sessionFactory.openStatelessSession()) {
+                session.setJdbcBatchSize(500);
+                Transaction tx = session.beginTransaction();
+                try {
+                    for (int i = 0; i < size; i++) {
+                        writeClient(session, random, today, counts);
+                    }
+                    tx.commit();
+                } catch (RuntimeException e) {
+                    if (tx.isActive()) tx.rollback();
+                    throw e;
+                }
+            }
+        }
+
+        balances.rebuild();
+        // Stateless inserts bypass the second-level cache
+        sessionFactory.getCache().evictAllRegions();
+        // Not part of the migrations: only generated databases ever have it
+        jdbc.execute("CREATE TABLE IF NOT EXISTS synthetic_data (generated_at INTEGER, clients INTEGER, seed INTEGER)");
+        jdbc.update("INSERT INTO synthetic_data VALUES (?, ?, ?)", System.currentTimeMillis(), clients, seed);
+        return new Summary(counts[0], counts[1], counts[2], counts[3], counts[4], counts[5],
+                System.currentTimeMillis() - started);
+    }
+
+    // True for a database filled by generate(), i.e. one whose rows are all fake
+    public boolean isGenerated() {
+        Long tables = jdbc.queryForObject(
+                "SELECT count(*) FROM sqlite_master WHERE type = 'table' AND name = 'synthetic_data'", Long.class);
+        return tables != null && tables > 0;
+    }
+
+    private void writeClient(StatelessSession session, Random random, LocalDate today, long[] counts) {
+        Client client = SyntheticData.client(random);
+        session.insert(client);
+        counts[0]++;
+
+        // 1..12 orders, most clients only a few, spread over the last three years
+        int orders = 1 + (int) Math.min(11, -Math.log(1 - random.nextDouble()) * 2.5);
+        List<LocalDate> dates = new ArrayList<>(orders);
+        LocalDate date = today.minusDays(random.nextInt(3 * 365));
+        for (int o = 0; o < orders && !date.isAfter(today); o++) {
+            dates.add(date);
+            date = date.plusDays(30 + random.nextInt(200));
+        }
+
+        List<DressMeasurement> dress = new ArrayList<>(dates.size());
+        dress.add(SyntheticData.dress(random, client, dates.get(0)));
+        boolean wearsWaistcoat = random.nextInt(10) < 3;
+        List<WaistcoatMeasurement> waistcoats = new ArrayList<>();
+
+        for (int o = 0; o < dates.size(); o++) {
+            if (o > 0) dress.add(SyntheticData.nextDress(random, dress.get(o - 1), dates.get(o)));
+            boolean waistcoatOrder = wearsWaistcoat && (o == 0 || random.nextBoolean());
+            if (waistcoatOrder) {
+                waistcoats.add(waistcoats.isEmpty()
+                        ? SyntheticData.waistcoat(random, client, dates.get(o))
+                        : SyntheticData.nextWaistcoat(random, waistcoats.get(waistcoats.size() - 1), dates.get(o)));
+            }
+            counts[5] += writePayment(session, random, client, dress.get(o), waistcoatOrder, today);
+            counts[4]++;
+        }
+
+        counts[3] += writeLine(session, MeasurementVersion.Type.DRESS, dress);
+        counts[1]++;
+        if (!waistcoats.isEmpty()) {
+            counts[3] += writeLine(session, MeasurementVersion.Type.WAISTCOAT, waistcoats);
+            counts[2]++;
+        }
+    }
+
+    // The newest state becomes the row, every earlier one a version of it
+    private <T> int writeLine(StatelessSession session, MeasurementVersion.Type type, List<T> statesOldestFirst) {
+        T current = statesOldestFirst.get(statesOldestFirst.size() - 1);
+        Long id = (Long) session.insert(current);
+        List<MeasurementVersion> versions = history.chain(type, id, statesOldestFirst);
+        versions.forEach(session::insert);
+        return versions.size();
+    }
+
+    // Returns the number of installments written; paid / remaining / status are derived by the balance rebuild
+    private int writePayment(StatelessSession session, Random random, Client client, DressMeasurement order,
+                             boolean withWaistcoat, LocalDate today) {
+        Payments p = new Payments();
+        p.setClient(client);
+        p.setDate(order.getDate());
+        p.setDressCount(order.getDressQty().longValue());
+        p.setDressRate(DRESS_RATES[random.nextInt(DRESS_RATES.length)]);
+        p.setWaistcoatCount(withWaistcoat ? 1L : 0L);
+        p.setWaistcoatRate(withWaistcoat ? 2500L + 500L * random.nextInt(3) : 0L);
+        p.setTotalAmount(p.getDressCount() * p.getDressRate() + p.getWaistcoatCount() * p.getWaistcoatRate());
+        p.setReturnDate(order.getDate().plusDays(10 + random.nextInt(12)));
+        p.setReturnStatus(p.getReturnDate().isBefore(today) ? "Returned" : "Not yet");
+        session.insert(p);
+
+        // Old orders are almost always settled; recent ones are often still open
+        boolean settled = order.getDate().isBefore(today.minusDays(60)) ? random.nextInt(20) != 0 : random.nextInt(3) == 0;
+        long left = settled ? p.getTotalAmount() : p.getTotalAmount() * random.nextInt(80) / 100;
+        int parts = left == 0 ? 0 : 1 + random.nextInt(3);
+        LocalDate paidOn = order.getDate();
+        for (int i = 0; i < parts; i++) {
+            long amount = i == parts - 1 ? left : left / (parts - i) / 100 * 100;
+            PaymentInstallment inst = new PaymentInstallment();
+            inst.setPayment(p);
+            inst.setPaidAmount(amount);
+            inst.setPaymentDate(paidOn.isAfter(today) ? today : paidOn);
+            inst.setNote(i == 0 ? "Advance" : null);
+            session.insert(inst);
+            left -= amount;
+            paidOn = paidOn.plusDays(1 + random.nextInt(20));
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.tailorapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Running totals over all of a client's payments, kept up to date by PaymentsService on every write
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_client_balance_remaining", columnList = "remainingAmount"),
+        @Index(name = "idx_client_balance_oldest_due", columnList = "oldestDueDate")
+})
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClientBalance {
+
+    @Id
+    private Long clientId;
+    private Long totalAmount;
+    private Long paidAmount;
+    private Long remainingAmount;
+    private Long openCount;         // payments with something still outstanding
+    private LocalDate oldestDueDate; // earliest returnDate among those payments
+}
@@ -0,0 +1,30 @@
+package com.example.tailorapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// An earlier state of a dress / waistcoat measurement row. The row itself always holds the current state;
+// each version keeps only the fields that differ from the state after it (their old values, as JSON),
+// so older states are rebuilt by unwinding versions from the row, newest version (highest id) first
+@Entity
+@Table(indexes = @Index(name = "idx_measurement_version_line", columnList = "type, measurementId, id"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MeasurementVersion {
+
+    public enum Type { DRESS, WAISTCOAT }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    private Type type;
+    private Long measurementId; // the dress_measurement / waistcoat_measurement row this is a past state of
+    private LocalDate date;     // when this state was taken
+    private String changes;     // {"chest": 38.0, ...}; "{}" when nothing changed on the next order
+}
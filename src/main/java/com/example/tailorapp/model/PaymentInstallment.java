@@ -9,6 +9,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = @Index(name = "idx_payment_installment_payment", columnList = "payment_id"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
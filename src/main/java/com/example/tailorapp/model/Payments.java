@@ -10,6 +10,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_payments_date", columnList = "date"),
+        @Index(name = "idx_payments_client_return", columnList = "client_id, returnDate")
+})
 @Data
 @AllArgsConstructor
 public class Payments {
@@ -3,10 +3,18 @@ package com.example.tailorapp.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_waistcoat_measurement_client_date", columnList = "client_id, date DESC, id DESC"),
+        @Index(name = "idx_waistcoat_measurement_date", columnList = "date")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "waistcoat-measurement")
 @Data
 @AllArgsConstructor
 public class WaistcoatMeasurement {
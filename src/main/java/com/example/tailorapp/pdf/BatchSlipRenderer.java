@@ -0,0 +1,69 @@
+package com.example.tailorapp.pdf;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.DocumentException;
+import com.lowagie.text.pdf.PdfCopy;
+import com.lowagie.text.pdf.PdfSmartCopy;
+import com.lowagie.text.pdf.PdfReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Renders many slips concurrently and merges them into one PDF in submission order.
+ * Each slip runs on its own virtual thread; a shared semaphore caps how many render at once across all batches.
+ */
+@Component
+public class BatchSlipRenderer {
+
+    private final Semaphore permits;
+
+    public BatchSlipRenderer(@Value("${tailor.print.batch-parallelism:0}") int parallelism) {
+        this.permits = new Semaphore(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public void renderMerged(List<Callable<byte[]>> slips, OutputStream out)
+            throws IOException, DocumentException, InterruptedException {
+        List<Future<byte[]>> parts = new ArrayList<>(slips.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Callable<byte[]> slip : slips) {
+                parts.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return slip.call();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            Document document = new Document();
+            // Smart copy writes the icons and fonts shared by every slip only once
+            PdfCopy copy = new PdfSmartCopy(document, out);
+            document.open();
+            // Futures are drained in order, so the merged file keeps the requested order
+            for (Future<byte[]> part : parts) {
+                PdfReader reader = new PdfReader(part.get());
+                for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                    copy.addPage(copy.getImportedPage(reader, page));
+                }
+                copy.freeReader(reader);
+                reader.close();
+            }
+            document.close();
+        } catch (ExecutionException e) {
+            throw new DocumentException(e.getCause() instanceof Exception ex ? ex : e);
+        }
+    }
+}
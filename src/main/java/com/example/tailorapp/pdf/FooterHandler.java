@@ -1,4 +1,4 @@
-package com.example.tailorapp.controller;
+package com.example.tailorapp.pdf;
 
 import com.lowagie.text.*;
 import com.lowagie.text.pdf.PdfPCell;
@@ -9,9 +9,11 @@ import com.lowagie.text.pdf.PdfWriter;
 // === Page Event Helper ===
 class FooterHandler extends PdfPageEventHelper {
     private final String now;
+    private final PdfAssets pdfAssets;
 
-    public FooterHandler(String now) {
+    public FooterHandler(String now, PdfAssets pdfAssets) {
         this.now = now;
+        this.pdfAssets = pdfAssets;
     }
 
     @Override
@@ -24,14 +26,14 @@ class FooterHandler extends PdfPageEventHelper {
 
             // Left: printed date
             PdfPCell leftCell = new PdfPCell(new Phrase("Printed: " + now,
-                    FontFactory.getFont(FontFactory.HELVETICA, 7)));
+                    pdfAssets.font(FontFactory.HELVETICA, 7)));
             leftCell.setBorder(Rectangle.NO_BORDER);
             leftCell.setHorizontalAlignment(Element.ALIGN_LEFT);
             footer.addCell(leftCell);
 
             // Right: return date line
             PdfPCell rightCell = new PdfPCell(new Phrase("Return Date: __________",
-                    FontFactory.getFont(FontFactory.HELVETICA_BOLD, 7)));
+                    pdfAssets.font(FontFactory.HELVETICA_BOLD, 7)));
             rightCell.setBorder(Rectangle.NO_BORDER);
             rightCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
             footer.addCell(rightCell);
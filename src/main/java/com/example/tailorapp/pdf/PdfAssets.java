@@ -0,0 +1,84 @@
+package com.example.tailorapp.pdf;
+
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.FontFactory;
+import com.lowagie.text.Image;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decoded images and fonts shared by every PDF builder.
+ * Icons are read from the classpath once at startup, so slips do no disk I/O and work from a packaged jar.
+ */
+@Component
+public class PdfAssets {
+
+    // Measurement value -> icon under static/images
+    private static final Map<String, String> ICON_FILES = Map.of(
+            "Round", "pocket_round.png",
+            "Cut", "pocket_cut.png",
+            "Square", "pocket_square.png",
+            "Round-Bain", "bain_round.png",
+            "Square-Bain", "bain_square.png",
+            "Cut-Bain", "bain_cut.png",
+            "Round-Cuff", "cuff_round.png",
+            "Square-Cuff", "cuff_square.png",
+            "Cut-Cuff", "cuff_cut.png");
+
+    // Icons print at 14pt; 64px keeps them sharp at 300dpi without embedding the full-size source image
+    private static final int ICON_PIXELS = 64;
+
+    private final Map<String, Image> icons = new HashMap<>();
+    private final Map<String, Font> fonts = new ConcurrentHashMap<>();
+
+    public PdfAssets() throws IOException {
+        for (Map.Entry<String, String> e : ICON_FILES.entrySet()) {
+            BufferedImage source;
+            try (InputStream in = new ClassPathResource("static/images/" + e.getValue()).getInputStream()) {
+                source = ImageIO.read(in);
+            }
+            Image img = Image.getInstance(downscale(source), null);
+            img.scaleToFit(14, 14);
+            img.setAlignment(Element.ALIGN_CENTER);
+            icons.put(e.getKey(), img);
+        }
+    }
+
+    private static BufferedImage downscale(BufferedImage source) {
+        double ratio = Math.min(1.0, (double) ICON_PIXELS / Math.max(source.getWidth(), source.getHeight()));
+        int w = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int h = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.drawImage(source, 0, 0, w, h, null);
+        g.dispose();
+        return scaled;
+    }
+
+    /** Scaled icon for a design value, or null if the value has no icon. */
+    public Image icon(String type) {
+        Image img = icons.get(type);
+        // Cheap copy that shares the decoded pixels; callers may position it freely
+        return img != null ? Image.getInstance(img) : null;
+    }
+
+    public Font font(String name, float size) {
+        return font(name, size, Color.BLACK);
+    }
+
+    public Font font(String name, float size, Color color) {
+        return fonts.computeIfAbsent(name + '|' + size + '|' + color.getRGB(),
+                k -> FontFactory.getFont(name, size, color));
+    }
+}
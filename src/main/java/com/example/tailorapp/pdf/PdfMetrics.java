@@ -0,0 +1,101 @@
+package com.example.tailorapp.pdf;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times a PDF rendered into a response, split in two:
+ * tailor.pdf.write is the time spent inside the output stream (handing bytes to the client),
+ * tailor.pdf.build is everything else (laying out the document, rendering and merging slips).
+ * The document still streams straight to the response; only the stream calls are clocked.
+ */
+@Component
+public class PdfMetrics {
+
+    @FunctionalInterface
+    public interface PdfWork {
+        void writeTo(OutputStream out) throws Exception;
+    }
+
+    private final MeterRegistry registry;
+
+    public PdfMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // document: dress, waistcoat, batch-dress, batch-waistcoat, report
+    public void render(String document, OutputStream out, PdfWork work) throws Exception {
+        TimedOutputStream timed = new TimedOutputStream(out);
+        long start = System.nanoTime();
+        try {
+            work.writeTo(timed);
+        } finally {
+            long total = System.nanoTime() - start;
+            timer("tailor.pdf.build", "Laying out a PDF, without the time spent writing it", document)
+                    .record(total - timed.nanos, TimeUnit.NANOSECONDS);
+            timer("tailor.pdf.write", "Writing a PDF's bytes to the response", document)
+                    .record(timed.nanos, TimeUnit.NANOSECONDS);
+            DistributionSummary.builder("tailor.pdf.size")
+                    .description("Bytes of one rendered PDF")
+                    .baseUnit("bytes")
+                    .tag("document", document)
+                    .register(registry)
+                    .record(timed.bytes);
+        }
+    }
+
+    private Timer timer(String name, String description, String document) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("document", document)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    // Adds up the bytes and the time spent in every call down to the response stream
+    private static final class TimedOutputStream extends FilterOutputStream {
+        private long nanos;
+        private long bytes;
+
+        TimedOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            long start = System.nanoTime();
+            out.write(b);
+            nanos += System.nanoTime() - start;
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            out.write(b, off, len);
+            nanos += System.nanoTime() - start;
+            bytes += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            long start = System.nanoTime();
+            out.flush();
+            nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void close() throws IOException {
+            long start = System.nanoTime();
+            out.close();
+            nanos += System.nanoTime() - start;
+        }
+    }
+}
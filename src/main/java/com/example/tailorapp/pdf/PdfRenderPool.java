@@ -0,0 +1,103 @@
+package com.example.tailorapp.pdf;
+
+import com.example.tailorapp.config.SqlStatementListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A few platform threads that do all the PDF rendering, with a short queue in front of them.
+ * Requests run on virtual threads and just wait here, so a burst of reports can use at most
+ * {@code threads} cores and never holds up the page loads; once the queue is full more PDFs are refused
+ * (the controllers answer 503) instead of piling up behind each other.
+ */
+@Component
+public class PdfRenderPool {
+
+    @FunctionalInterface
+    public interface PdfTask {
+        void run() throws Exception;
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    private final Counter rejected;
+
+    public PdfRenderPool(@Value("${tailor.pdf.threads:0}") int threads,
+                         @Value("${tailor.pdf.queue-capacity:16}") int queueCapacity,
+                         MeterRegistry registry) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger n = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "pdf-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("tailor.pdf.queue.wait")
+                .description("Time a PDF waited for a render thread")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejected = Counter.builder("tailor.pdf.rejected")
+                .description("PDFs refused because every render thread was busy and the queue was full")
+                .register(registry);
+        Gauge.builder("tailor.pdf.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("PDFs rendering right now").register(registry);
+        Gauge.builder("tailor.pdf.queued", executor, e -> e.getQueue().size())
+                .description("PDFs waiting for a render thread").register(registry);
+    }
+
+    // Runs the task on a render thread and waits for it; false (nothing run) when the pool is saturated
+    public boolean run(PdfTask task) throws Exception {
+        long queued = System.nanoTime();
+        // The SQL a report runs here still counts towards the request that asked for it
+        SqlStatementListener.Tally tally = SqlStatementListener.current();
+        Future<?> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - queued, TimeUnit.NANOSECONDS);
+                SqlStatementListener.attach(tally);
+                try {
+                    task.run();
+                } finally {
+                    SqlStatementListener.attach(null);
+                }
+                return null;
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+
+        try {
+            future.get();
+            return true;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) throw cause;
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
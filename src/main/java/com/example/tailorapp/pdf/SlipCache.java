@@ -0,0 +1,125 @@
+package com.example.tailorapp.pdf;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.beans.PropertyDescriptor;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rendered slip PDFs, so the cutter's, stitcher's and customer's copies are laid out once.
+ * Entries are keyed by document and measurement id and carry a stamp of everything the slip prints
+ * (the measurement's and the client's plain fields as loaded): a slip whose data changed no longer matches
+ * and is rendered again, whichever code path made the change.
+ * The stamp also carries the day, because the footer prints when the slip was printed: a reprint on a later day
+ * is rendered again with that day's date (within one day it keeps the time of the first print).
+ * The services also evict on edits, deletes and client changes so stale PDFs don't sit in memory.
+ * Bounded by total bytes (tailor.print.slip-cache-size); Caffeine drops the least recently / least often used first,
+ * and anything older than a day, which could no longer be served.
+ */
+@Component
+public class SlipCache {
+
+    /** A rendered slip and the ETag it is served with. */
+    public record Slip(String etag, Long clientId, byte[] pdf) {
+    }
+
+    private record Key(String document, Long measurementId) {
+    }
+
+    private final Cache<Key, Slip> slips;
+    private final Map<Class<?>, List<PropertyDescriptor>> printed = new ConcurrentHashMap<>();
+
+    public SlipCache(@Value("${tailor.print.slip-cache-size:16MB}") DataSize maxSize, MeterRegistry registry) {
+        this.slips = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, Slip slip) -> slip.pdf().length)
+                .expireAfterWrite(Duration.ofDays(1))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, slips, "slips");
+    }
+
+    // "dress-12-3f9a…": changes whenever anything printed on the slip changes, the print day included
+    public String etag(String document, Object client, Object measurement) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(LocalDate.now().toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(values(client).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(values(measurement).getBytes(StandardCharsets.UTF_8));
+            Object id = new BeanWrapperImpl(measurement).getPropertyValue("id");
+            return document + "-" + id + "-" + HexFormat.of().formatHex(digest.digest(), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The cached slip, if it was rendered from the same data
+    public Slip get(String document, Long measurementId, String etag) {
+        Slip slip = slips.getIfPresent(new Key(document, measurementId));
+        return slip != null && slip.etag().equals(etag) ? slip : null;
+    }
+
+    public void put(String document, Long measurementId, Slip slip) {
+        slips.put(new Key(document, measurementId), slip);
+    }
+
+    public void evictMeasurement(String document, Long measurementId) {
+        if (measurementId != null) slips.invalidate(new Key(document, measurementId));
+    }
+
+    // Every slip printing this client's name / number
+    public void evictClient(Long clientId) {
+        if (clientId != null) slips.asMap().values().removeIf(slip -> clientId.equals(slip.clientId()));
+    }
+
+    public CacheStats stats() {
+        return slips.stats();
+    }
+
+    public long size() {
+        return slips.estimatedSize();
+    }
+
+    public long bytes() {
+        return slips.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L);
+    }
+
+    // Plain values only: associations are stamped through their own entity (the client is passed separately)
+    private String values(Object entity) {
+        BeanWrapperImpl bean = new BeanWrapperImpl(entity);
+        StringBuilder sb = new StringBuilder();
+        for (PropertyDescriptor pd : printedFields(Hibernate.getClass(entity))) {
+            sb.append(pd.getName()).append('=').append(Objects.toString(bean.getPropertyValue(pd.getName()))).append('\u001f');
+        }
+        return sb.toString();
+    }
+
+    private List<PropertyDescriptor> printedFields(Class<?> type) {
+        return printed.computeIfAbsent(type, t -> Arrays.stream(BeanUtils.getPropertyDescriptors(t))
+                .filter(pd -> pd.getReadMethod() != null && BeanUtils.isSimpleValueType(pd.getPropertyType()))
+                .filter(pd -> !"class".equals(pd.getName()))
+                .toList());
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.tailorapp.pdf;
+
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.DressMeasurement;
+import com.example.tailorapp.model.WaistcoatMeasurement;
+import com.lowagie.text.*;
+import com.lowagie.text.Image;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import org.springframework.stereotype.Component;
+
+import java.awt.*;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Lays out the half-A4 dress and waistcoat slips.
+ * Stateless apart from the shared {@link PdfAssets}, so slips can be rendered on several threads at once.
+ */
+@Component
+public class SlipRenderer {
+
+    private final PdfAssets pdfAssets;
+
+    public SlipRenderer(PdfAssets pdfAssets) {
+        this.pdfAssets = pdfAssets;
+    }
+
+    public byte[] renderDress(Client client, DressMeasurement dressMeasurement) throws DocumentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        writeDress(client, dressMeasurement, out);
+        return out.toByteArray();
+    }
+
+    public byte[] renderWaistcoat(Client client, WaistcoatMeasurement waistcoatMeasurement) throws DocumentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 * 1024);
+        writeWaistcoat(client, waistcoatMeasurement, out);
+        return out.toByteArray();
+    }
+
+    public void writeDress(Client client, DressMeasurement dressMeasurement, OutputStream out) throws DocumentException {
+        Rectangle slipSize = new Rectangle(PageSize.A4.getWidth() / 2, PageSize.A4.getHeight() / 2);
+        Document document = new Document(slipSize, 15, 15, 10, 20); // extra bottom margin for footer
+        String now = new java.text.SimpleDateFormat("dd/MM/yyyy HH:mm").format(new java.util.Date());
+
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setPageEvent(new FooterHandler(now, pdfAssets)); // attach footer handler
+        document.open();
+
+        // === Title ===
+        Paragraph title = new Paragraph(nvl(client.getName() + " (" + client.getId() + ")"),
+                pdfAssets.font(FontFactory.HELVETICA_BOLD, 10));
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(3f);
+        document.add(title);
+
+// === Extra Info Row (Dress Qty, Collar, Bain, Design) ===
+        PdfPTable infoTable = new PdfPTable(4);
+        infoTable.setWidthPercentage(100);
+        infoTable.setWidths(new float[]{25f, 25f, 25f, 25f});
+        infoTable.setSpacingAfter(6f);
+
+// Row content
+        infoTable.addCell(makeInfoCell("Dress Qty: " + nvl(dressMeasurement.getDressQty())));
+        infoTable.addCell(makeInfoCell("With Collar: " + nvl(dressMeasurement.getWithCollar())));
+        infoTable.addCell(makeInfoCell("With Bain: " + nvl(dressMeasurement.getWithBain())));
+        infoTable.addCell(makeInfoCell("With Design: " + nvl(dressMeasurement.getWithDesign())));
+
+        document.add(infoTable);
+
+        document.add(new Paragraph(" ", pdfAssets.font(FontFactory.HELVETICA, 4)));
+
+        // === Measurements ===
+            addKameezSection(document, dressMeasurement);
+            addShalwarSection(document, dressMeasurement);
+            addDesignSection(document, dressMeasurement);
+            addNotesSection(document, dressMeasurement.getNotes());
+
+        document.close();
+    }
+
+    public void writeWaistcoat(Client client, WaistcoatMeasurement waistcoatMeasurement, OutputStream out) throws DocumentException {
+        Rectangle slipSize = new Rectangle(PageSize.A4.getWidth() / 2, PageSize.A4.getHeight() / 2);
+        Document document = new Document(slipSize, 15, 15, 25, 20); // extra bottom margin for footer
+        String now = new java.text.SimpleDateFormat("dd/MM/yyyy HH:mm").format(new java.util.Date());
+
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setPageEvent(new FooterHandler(now, pdfAssets)); // attach footer handler
+        document.open();
+
+        // === Title ===
+        Paragraph title = new Paragraph(nvl(client.getName()),
+                pdfAssets.font(FontFactory.HELVETICA_BOLD, 10));
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+
+        document.add(new Paragraph(" ", pdfAssets.font(FontFactory.HELVETICA, 4)));
+
+        // === Measurements ===
+            addWaistcoatSection(document, waistcoatMeasurement);
+            addNotesSection(document, waistcoatMeasurement.getNotes());
+
+        document.close();
+    }
+
+    private PdfPCell makeInfoCell(String text) {
+        PdfPCell cell = new PdfPCell(new Phrase(nvl(text),
+                pdfAssets.font(FontFactory.HELVETICA, 8)));
+        cell.setBorder(Rectangle.NO_BORDER);
+        cell.setHorizontalAlignment(Element.ALIGN_LEFT);
+        cell.setVerticalAlignment(Element.ALIGN_CENTER);
+        cell.setPadding(2f);
+        return cell;
+    }
+
+    // === Kameez Section ===
+    private void addKameezSection(Document doc, DressMeasurement m) throws DocumentException {
+        PdfPTable table = createSectionTable("Kameez Measurements");
+
+        addRow4IfNotNull(table, "Length", nvl(m.getKameezLength()), "Arm", nvl(m.getArm()));
+        addRow4IfNotNull(table, "Shoulder-aram", nvl(m.getShoulderArm()), "Upper arm", nvl(m.getUpperArm()));
+        addRow4IfNotNull(table, "Center aram", nvl(m.getCenterArm()),  "Lower arm", nvl(m.getLowerArm()));
+        addRow4IfNotNull(table, "Cuff length", nvl(m.getCuffLength()), "Cuff width", nvl(m.getCuffWidth()));
+        addRow4IfNotNull(table, "Terra", nvl(m.getTerra()), "Terra down", nvl(m.getTerraDown()));
+        addRow4IfNotNull(table, "Collar size", nvl(m.getCollarSize()), "Bain size", nvl(m.getBainSize()));
+        addRow4IfNotNull(table, "Chest", nvl(m.getChest()), "Chest fitting", nvl(m.getChestFitting()));
+        addRow4IfNotNull(table, "Waist", nvl(m.getWaist()), "Hip", nvl(m.getHip()));
+        doc.add(table);
+        doc.add(new Paragraph(" ", pdfAssets.font(FontFactory.HELVETICA, 4)));
+    }
+
+    // === Shalwar Section ===
+    private void addShalwarSection(Document doc, DressMeasurement m) throws DocumentException {
+        PdfPTable table = createSectionTable("Shalwar Measurements");
+
+        addRow4IfNotNull(table, "Length", nvl(m.getShalwarLength()),  "Fitting", nvl(m.getShalwarFitting()));
+        addRow4IfNotNull(table,"Asan", nvl(m.getAsan()), "Payncha", nvl(m.getPayncha()));
+
+        doc.add(table);
+        doc.add(new Paragraph(" ", pdfAssets.font(FontFactory.HELVETICA, 4)));
+    }
+
+    // === Design Section ===
+    private void addDesignSection(Document doc, DressMeasurement m) throws DocumentException {
+        PdfPTable table = createSectionTable("Design & Finishing");
+
+        addRow4IfNotNull(table,"Collar design", nvl(m.getCollarType()), "", null);
+        addImageRow4(table, "Bain design", m.getBainType(), "Cuff design", m.getCuffDesign());
+        addImageRow4(table, "Front pocket", m.getFrontPocket() ? "Yes" : "No", "Front pocket design", m.getFrontPocketType());
+        addRow4IfNotNull(table, "Side pocket", nvl(m.getSidePocket()), "Shalwar pocket", m.getShalwarPocket() ? "Yes" : "No");
+        addRow4IfNotNull(table, "Daman type", m.getDamanType(), "Daman stitching", nvl(m.getDamanStitching()));
+        addRow4IfNotNull(table,  "Cuff type", m.getCuffType(), "Stitching", nvl(m.getStitchType()));
+        addRow4IfNotNull(table, "Button", nvl(m.getButtonType()), "Design stitch", (m.getDesignStitch() != null && m.getDesignStitch()) ? "Yes" : "No");
+        addRow4IfNotNull(table, "Front patti design", nvl(m.getFrontPattiType()), "Front patti kaj", nvl(m.getFrontPattiKaj()));
+        addRow4IfNotNull(table, "Kanta", (m.getKanta() != null && m.getKanta()) ? "Yes" : "No", "Jali", nvl(m.getJali()));
+
+        doc.add(table);
+        doc.add(new Paragraph(" ", pdfAssets.font(FontFactory.HELVETICA, 4)));
+    }
+
+    // === Notes Section ===
+    private void addNotesSection(Document doc, String note) throws DocumentException {
+        Paragraph heading = new Paragraph("Notes:",
+                pdfAssets.font(FontFactory.HELVETICA_BOLD, 7));
+        heading.setSpacingBefore(3f);
+        doc.add(heading);
+
+        PdfPCell cell = new PdfPCell(new Phrase(nvl(note), pdfAssets.font(FontFactory.HELVETICA, 6)));
+        cell.setFixedHeight(15f); // roughly 3 lines
+        cell.setVerticalAlignment(Element.ALIGN_TOP);
+        cell.setPadding(4f);
+        cell.setBorder(Rectangle.NO_BORDER); // ✅ remove all borders
+
+        PdfPTable noteTable = new PdfPTable(1);
+        noteTable.setWidthPercentage(100);
+        noteTable.addCell(cell);
+        noteTable.getDefaultCell().setBorder(Rectangle.NO_BORDER); // ensure table has no border too
+
+        doc.add(noteTable);
+    }
+
+
+    // === Helpers ===
+    private PdfPTable createSectionTable(String title) throws DocumentException {
+        // 4 columns with custom widths: label(30%), value(20%), label(30%), value(20%)
+        PdfPTable table = new PdfPTable(4);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{30f, 15f, 30f, 15f});
+
+        PdfPCell headingCell = new PdfPCell(
+                new Phrase(title, pdfAssets.font(FontFactory.HELVETICA_BOLD, 8, Color.WHITE)));
+        headingCell.setBackgroundColor(Color.DARK_GRAY);
+        headingCell.setColspan(4);
+        headingCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        headingCell.setPadding(2f);
+        table.addCell(headingCell);
+
+        return table;
+    }
+
+    private void addRow4(PdfPTable table, String l1, String v1, String l2, String v2) {
+        table.addCell(makeLabelCell(l1));
+        table.addCell(makeValueCell(v1));
+        table.addCell(makeLabelCell(l2));
+        table.addCell(makeValueCell(v2));
+    }
+
+    private void addRow4IfNotNull(PdfPTable table, String l1, String v1, String l2, String v2) {
+        boolean hasFirst = v1 != null && !v1.isEmpty();
+        boolean hasSecond = v2 != null && !v2.isEmpty();
+
+        if (!hasFirst && !hasSecond) return; // skip entire row if both are null/empty
+
+        if (!hasFirst && hasSecond) {
+            // shift second column left (no heading gap)
+            table.addCell(makeLabelCell(l2));
+            table.addCell(makeValueCell(v2));
+            table.addCell(new PdfPCell()); // fill remaining empty cells
+            table.addCell(new PdfPCell());
+        } else if (hasFirst && !hasSecond) {
+            table.addCell(makeLabelCell(l1));
+            table.addCell(makeValueCell(v1));
+            table.addCell(new PdfPCell());
+            table.addCell(new PdfPCell());
+        } else {
+            addRow4(table, l1, v1, l2, v2);
+        }
+    }
+
+    private void addImageRow4(PdfPTable table, String l1, String t1, String l2, String t2) {
+        table.addCell(makeLabelCell(l1));
+        table.addCell(getImageCell(t1));
+        table.addCell(makeLabelCell(l2));
+        table.addCell(getImageCell(t2));
+    }
+
+    private PdfPCell makeLabelCell(String text) {
+        PdfPCell cell = new PdfPCell(new Phrase(text,
+                pdfAssets.font(FontFactory.HELVETICA_BOLD, 6)));
+        cell.setBackgroundColor(Color.LIGHT_GRAY);
+        cell.setHorizontalAlignment(Element.ALIGN_LEFT);
+        cell.setPadding(3f); // increased for more readable rows
+        return cell;
+    }
+
+    private PdfPCell makeValueCell(String text) {
+        PdfPCell cell = new PdfPCell(new Phrase(nvl(text),
+                pdfAssets.font(FontFactory.HELVETICA, 7)));
+        cell.setHorizontalAlignment(Element.ALIGN_CENTER);   // center horizontally
+        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);     // center vertically
+        cell.setPadding(1.5f);
+        return cell;
+    }
+
+    private PdfPCell getImageCell(String type) {
+        PdfPCell cell = new PdfPCell();
+        cell.setHorizontalAlignment(Element.ALIGN_CENTER);   // center horizontally
+        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);     // center vertically
+        cell.setPadding(1.5f);
+
+        if (type == null) {
+            cell.setPhrase(new Phrase(""));
+            return cell;
+        }
+
+        // Icons come pre-decoded from the shared registry; anything without an icon prints as text
+        Image img = pdfAssets.icon(type);
+        if (img != null) {
+            cell.addElement(img);
+        } else {
+            cell.setPhrase(new Phrase(type, pdfAssets.font(FontFactory.HELVETICA, 6)));
+        }
+        return cell;
+    }
+
+    private String nvl(Object obj) {
+        return (obj == null) ? "" : obj.toString();
+    }
+
+    // === waistcoat Section ===
+    private void addWaistcoatSection(Document doc, WaistcoatMeasurement m) throws DocumentException {
+        PdfPTable table = new PdfPTable(2);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[]{40f, 60f});
+
+        PdfPCell headingCell = new PdfPCell(
+                new Phrase("Waistcoat Measurements", pdfAssets.font(FontFactory.HELVETICA_BOLD, 8, Color.WHITE)));
+        headingCell.setBackgroundColor(Color.DARK_GRAY);
+        headingCell.setColspan(2);
+        headingCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        headingCell.setPadding(3f);
+        table.addCell(headingCell);
+
+        addRow2IfNotNull(table, "Length", nvl(m.getLength()));
+        addRow2IfNotNull(table, "Shoulder", nvl(m.getShoulder()));
+        addRow2IfNotNull(table, "Neck", nvl(m.getNeck()));
+        addRow2IfNotNull(table, "Chest", nvl(m.getChest()));
+        addRow2IfNotNull(table, "Chest fitting", nvl(m.getChestFitting()));
+        addRow2IfNotNull(table, "Hip", nvl(m.getHip()));
+        addRow2IfNotNull(table, "Bain size", nvl(m.getBainSize()));
+        addRow2IfNotNull(table, "Bain design", nvl(m.getBainType()));
+        addRow2IfNotNull(table, "Daman design", nvl(m.getDamanType()));
+
+        doc.add(table);
+        doc.add(new Paragraph(" ", pdfAssets.font(FontFactory.HELVETICA, 4)));
+    }
+
+    private void addRow2IfNotNull(PdfPTable table, String label, String value) {
+        if (value == null || value.isEmpty()) return;
+        table.addCell(makeLabelCell(label));
+        table.addCell(makeValueCell(value));
+    }
+}
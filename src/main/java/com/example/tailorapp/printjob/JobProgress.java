@@ -0,0 +1,10 @@
+package com.example.tailorapp.printjob;
+
+/** How far a print job got, in the work's own units (report rows, slips). */
+public interface JobProgress {
+
+    // How many units the whole job has, once known
+    void total(long units);
+
+    void advance(long units);
+}
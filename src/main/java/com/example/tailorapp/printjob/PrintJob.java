@@ -0,0 +1,119 @@
+package com.example.tailorapp.printjob;
+
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One PDF rendered in the background by PrintJobService. The worker moves it through
+ * QUEUED -> RUNNING -> DONE / FAILED and reports progress in the work's own units (report rows, slips).
+ */
+public class PrintJob implements JobProgress {
+
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    /** Writes the PDF, telling the job how far it got along the way. */
+    @FunctionalInterface
+    public interface Work {
+        void writeTo(OutputStream out, JobProgress progress) throws Exception;
+    }
+
+    /** What the status endpoint returns. total is -1 until the work has counted its units. */
+    public record Status(String id, String document, State state, long done, long total, Integer percent,
+                         Long bytes, String error, Instant created, Instant finished, String download) {
+    }
+
+    private final String id;
+    private final String key;
+    private final String document;
+    private final String fileName;
+    private final Instant created = Instant.now();
+    private final AtomicLong done = new AtomicLong();
+    private volatile long total = -1;
+    private volatile State state = State.QUEUED;
+    private volatile Instant finished;
+    private volatile Path file;
+    private volatile long bytes;
+    private volatile String error;
+
+    PrintJob(String id, String key, String document, String fileName) {
+        this.id = id;
+        this.key = key;
+        this.document = document;
+        this.fileName = fileName;
+    }
+
+    @Override
+    public void total(long units) {
+        total = units;
+    }
+
+    @Override
+    public void advance(long units) {
+        done.addAndGet(units);
+    }
+
+    void started() {
+        state = State.RUNNING;
+    }
+
+    void succeeded(Path file, long bytes) {
+        this.file = file;
+        this.bytes = bytes;
+        this.finished = Instant.now();
+        this.state = State.DONE;
+    }
+
+    void failed(String error) {
+        this.error = error;
+        this.finished = Instant.now();
+        this.state = State.FAILED;
+    }
+
+    public Status status() {
+        State s = state;
+        long t = total;
+        long d = done.get();
+        Integer percent = s == State.DONE ? Integer.valueOf(100)
+                : t > 0 ? Integer.valueOf((int) Math.min(99, d * 100 / t)) : null;
+        return new Status(id, document, s, d, t, percent, s == State.DONE ? bytes : null, error, created, finished,
+                s == State.DONE ? "/print/jobs/" + id + "/file" : null);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    String key() {
+        return key;
+    }
+
+    public String document() {
+        return document;
+    }
+
+    public String fileName() {
+        return fileName;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public long bytes() {
+        return bytes;
+    }
+
+    Instant created() {
+        return created;
+    }
+
+    Instant finished() {
+        return finished;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.tailorapp.printjob;
+
+import com.example.tailorapp.pdf.PdfMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Renders PDFs in the background onto local disk, so a long report no longer holds a request open
+ * and a browser refresh doesn't start it over. Submitting returns the job at once; the same submission
+ * (same key) while a job is queued, running or finished and not yet expired returns that job again.
+ * tailor.print.jobs.workers jobs render at a time, at most tailor.print.jobs.max-queued wait behind them.
+ * Finished files are deleted tailor.print.jobs.ttl after they were done; jobs live in memory only,
+ * so files left over from before a restart are removed at startup.
+ */
+@Service
+public class PrintJobService {
+
+    // <uuid>.pdf, or <uuid>.part while it is being written
+    private static final Pattern JOB_FILE = Pattern.compile("[0-9a-f-]{36}\\.(pdf|part)");
+
+    private final Path dir;
+    private final Duration ttl;
+    private final int workerCount;
+    private final int maxQueued;
+    private final PdfMetrics pdfMetrics;
+    private final Map<String, PrintJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, PrintJob> byKey = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService cleaner;
+
+    public PrintJobService(@Value("${tailor.print.jobs.path:print-jobs}") String path,
+                           @Value("${tailor.print.jobs.workers:1}") int workers,
+                           @Value("${tailor.print.jobs.max-queued:50}") int maxQueued,
+                           @Value("${tailor.print.jobs.ttl:30m}") Duration ttl,
+                           PdfMetrics pdfMetrics) throws IOException {
+        this.dir = Paths.get(path).toAbsolutePath().normalize();
+        this.ttl = ttl;
+        this.workerCount = workers;
+        this.maxQueued = maxQueued;
+        this.pdfMetrics = pdfMetrics;
+
+        Files.createDirectories(dir);
+        try (Stream<Path> leftovers = Files.list(dir)) {
+            for (Path p : leftovers.filter(PrintJobService::isJobFile).toList()) Files.deleteIfExists(p);
+        }
+    }
+
+    // Threads start once the bean is fully built (the cleaner's task refers back to it)
+    @PostConstruct
+    void start() {
+        AtomicInteger n = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued),
+                r -> daemon(r, "print-job-" + n.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "print-job-cleaner"));
+        long every = Math.max(1, Math.min(ttl.toSeconds(), 60));
+        cleaner.scheduleWithFixedDelay(this::expire, every, every, TimeUnit.SECONDS);
+    }
+
+    // The job for this key (existing unless it failed or expired, else new); empty when the queue is full
+    public synchronized Optional<PrintJob> submit(String key, String document, String fileName, PrintJob.Work work) {
+        PrintJob existing = byKey.get(key);
+        if (existing != null && existing.state() != PrintJob.State.FAILED) return Optional.of(existing);
+
+        PrintJob job = new PrintJob(UUID.randomUUID().toString(), key, document, fileName);
+        try {
+            workers.execute(() -> run(job, work));
+        } catch (RejectedExecutionException e) {
+            return Optional.empty();
+        }
+        jobs.put(job.id(), job);
+        byKey.put(key, job);
+        return Optional.of(job);
+    }
+
+    public Optional<PrintJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    // Newest first
+    public List<PrintJob> list() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing(PrintJob::created).reversed())
+                .toList();
+    }
+
+    private void run(PrintJob job, PrintJob.Work work) {
+        job.started();
+        Path part = dir.resolve(job.id() + ".part");
+        Path file = dir.resolve(job.id() + ".pdf");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024)) {
+                pdfMetrics.render(job.document(), out, o -> work.writeTo(o, job));
+            }
+            // Only complete files ever carry the .pdf name
+            Files.move(part, file, StandardCopyOption.ATOMIC_MOVE);
+            job.succeeded(file, Files.size(file));
+        } catch (Exception e) {
+            deleteQuietly(part);
+            job.failed(e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : ""));
+        }
+    }
+
+    // Finished (done or failed) jobs older than the ttl go, with their files
+    void expire() {
+        Instant cutoff = Instant.now().minus(ttl);
+        for (PrintJob job : jobs.values()) {
+            if (job.finished() == null || job.finished().isAfter(cutoff)) continue;
+            synchronized (this) {
+                jobs.remove(job.id());
+                byKey.remove(job.key(), job);
+            }
+            if (job.file() != null) deleteQuietly(job.file());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        cleaner.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static boolean isJobFile(Path p) {
+        return JOB_FILE.matcher(p.getFileName().toString()).matches();
+    }
+
+    private static void deleteQuietly(Path p) {
+        try {
+            Files.deleteIfExists(p);
+        } catch (IOException e) {
+            // Left for the startup sweep
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
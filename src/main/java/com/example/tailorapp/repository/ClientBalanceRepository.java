@@ -0,0 +1,68 @@
+package com.example.tailorapp.repository;
+
+import com.example.tailorapp.model.ClientBalance;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ClientBalanceRepository extends JpaRepository<ClientBalance, Long> {
+
+    // Applied in SQL so concurrent writers never lose each other's deltas; returns 0 if the row doesn't exist yet
+    @Modifying
+    @Query("""
+            update ClientBalance b
+            set b.totalAmount = b.totalAmount + :total,
+                b.paidAmount = b.paidAmount + :paid,
+                b.remainingAmount = b.remainingAmount + :remaining,
+                b.openCount = b.openCount + :open
+            where b.clientId = :clientId""")
+    int addDelta(@Param("clientId") Long clientId,
+                 @Param("total") long total,
+                 @Param("paid") long paid,
+                 @Param("remaining") long remaining,
+                 @Param("open") long open);
+
+    // Re-reads the earliest open return date from the client's own payments (idx_payments_client_return)
+    @Modifying
+    @Query("""
+            update ClientBalance b
+            set b.oldestDueDate = (select min(p.returnDate) from Payments p
+                                   where p.client.id = :clientId and p.remainingAmount > 0)
+            where b.clientId = :clientId""")
+    void refreshOldestDueDate(@Param("clientId") Long clientId);
+
+    // Top-N debtors, largest balance first (idx_client_balance_remaining)
+    @Query("""
+            select new com.example.tailorapp.repository.ReceivableRow(
+                c.id, c.name, c.mobile, b.remainingAmount, b.openCount, b.oldestDueDate)
+            from ClientBalance b join Client c on c.id = b.clientId
+            where b.remainingAmount > 0
+            order by b.remainingAmount desc, b.clientId""")
+    List<ReceivableRow> findTopByAmount(Limit limit);
+
+    // Top-N debtors, longest outstanding first (idx_client_balance_oldest_due)
+    @Query("""
+            select new com.example.tailorapp.repository.ReceivableRow(
+                c.id, c.name, c.mobile, b.remainingAmount, b.openCount, b.oldestDueDate)
+            from ClientBalance b join Client c on c.id = b.clientId
+            where b.oldestDueDate is not null and b.remainingAmount > 0
+            order by b.oldestDueDate, b.remainingAmount desc""")
+    List<ReceivableRow> findTopByAge(Limit limit);
+
+    // Clients with at least one payment whose return date has passed without being paid off
+    @Query("""
+            select new com.example.tailorapp.repository.ReceivableRow(
+                c.id, c.name, c.mobile, b.remainingAmount, b.openCount, b.oldestDueDate)
+            from ClientBalance b join Client c on c.id = b.clientId
+            where b.oldestDueDate < :today and b.remainingAmount > 0
+            order by b.oldestDueDate, b.remainingAmount desc""")
+    List<ReceivableRow> findOverdue(@Param("today") LocalDate today, Limit limit);
+
+    @Query("select coalesce(sum(b.remainingAmount), 0) from ClientBalance b where b.remainingAmount > 0")
+    long sumOutstanding();
+}
@@ -1,9 +1,45 @@
 package com.example.tailorapp.repository;
 
 import com.example.tailorapp.model.Client;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface ClientRepository extends JpaRepository<Client, Long> {
-    List<Client> findByNameContainingIgnoreCaseOrMobileContaining(String name, String mobile);
+    List<Client> findByNameContainingIgnoreCaseOrMobileContainingOrderByIdDesc(String name, String mobile, Limit limit);
+
+    // Ranked lookup through the client_fts trigram index (created in db/migration/V2)
+    @Query(value = """
+            SELECT c.* FROM client_fts
+            JOIN client c ON c.id = client_fts.rowid
+            WHERE client_fts MATCH :match
+            ORDER BY client_fts.rank, c.id DESC
+            LIMIT :limit""", nativeQuery = true)
+    List<Client> searchIndexed(@Param("match") String match, @Param("limit") int limit);
+
+    // Keyset (seek) pagination on the primary key, newest first
+    List<Client> findAllByOrderByIdDesc(Limit limit);
+    List<Client> findByIdLessThanOrderByIdDesc(Long id, Limit limit);
+    List<Client> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Client references in bulk imports, resolved a chunk at a time
+    @Query("select c.id from Client c where c.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    List<Client> findByMobileIn(Collection<String> mobiles);
+
+    // Whole table through a forward-only cursor, for the export (caller must hold a transaction)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")}) // rows read once don't evict the cached ones
+    @Query("select c from Client c order by c.id")
+    Stream<Client> streamAll();
 }
@@ -1,9 +1,48 @@
 package com.example.tailorapp.repository;
 
 import com.example.tailorapp.model.DressMeasurement;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface MeasurementRepository extends JpaRepository<DressMeasurement, Long> {
+    // Newest measurement of a client: one row off idx_dress_measurement_client_date (ties on date go to the higher id)
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "measurements-by-client")})
+    Optional<DressMeasurement> findFirstByClientIdOrderByDateDescIdDesc(Long clientId);
+
+    // Every measurement of a client, newest first, without hydrating the entities
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "measurements-by-client")})
+    @Query("""
+            select new com.example.tailorapp.repository.MeasurementSummary(m.id, m.date, m.kameezLength, m.chest, m.DressQty, m.notes)
+            from DressMeasurement m where m.client.id = :clientId
+            order by m.date desc, m.id desc""")
+    List<MeasurementSummary> findSummariesByClientId(@Param("clientId") Long clientId);
+
+    // Clients with several rows, some maybe full copies from before versioning, for the compaction run
+    @Query("select m.client.id from DressMeasurement m group by m.client.id having count(m) > 1")
+    List<Long> findClientIdsWithSeveralRows();
     List<DressMeasurement> findByClientId(Long clientId);
+
+    // Client is fetched in the same query so the slips can be rendered off the request thread
+    @Query("select m from DressMeasurement m join fetch m.client c where m.date = :date order by c.id, m.id")
+    List<DressMeasurement> findByDateWithClient(@Param("date") LocalDate date);
+
+    // Whole table through a forward-only cursor, for the export (caller must hold a transaction)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")}) // rows read once don't evict the cached ones
+    @Query("select m from DressMeasurement m order by m.id")
+    Stream<DressMeasurement> streamAll();
 }
@@ -0,0 +1,21 @@
+package com.example.tailorapp.repository;
+
+import java.time.LocalDate;
+
+/**
+ * A few headline numbers of a dress or waistcoat measurement, for the history rows of the client page.
+ * versionId is set when the line is an earlier version of measurement {@code id} rather than the row itself.
+ */
+public record MeasurementSummary(Long id,
+                                 Long versionId,
+                                 LocalDate date,
+                                 Double length,
+                                 Double chest,
+                                 Integer qty,
+                                 String notes) {
+
+    // Current state of a measurement row (the JPQL projection)
+    public MeasurementSummary(Long id, LocalDate date, Double length, Double chest, Integer qty, String notes) {
+        this(id, null, date, length, chest, qty, notes);
+    }
+}
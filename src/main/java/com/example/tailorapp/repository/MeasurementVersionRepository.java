@@ -0,0 +1,30 @@
+package com.example.tailorapp.repository;
+
+import com.example.tailorapp.model.MeasurementVersion;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface MeasurementVersionRepository extends JpaRepository<MeasurementVersion, Long> {
+
+    // Unwinding order: the version right below the current row comes first
+    List<MeasurementVersion> findByTypeAndMeasurementIdOrderByIdDesc(MeasurementVersion.Type type, Long measurementId);
+    List<MeasurementVersion> findByTypeAndMeasurementIdInOrderByIdDesc(MeasurementVersion.Type type, Collection<Long> measurementIds);
+    Optional<MeasurementVersion> findFirstByTypeAndMeasurementIdOrderByIdDesc(MeasurementVersion.Type type, Long measurementId);
+
+    // Whole table through a forward-only cursor, for the export (caller must hold a transaction)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")}) // rows read once don't evict the cached ones
+    @Query("select v from MeasurementVersion v order by v.id")
+    Stream<MeasurementVersion> streamAll();
+}
@@ -2,9 +2,31 @@ package com.example.tailorapp.repository;
 
 import com.example.tailorapp.model.PaymentInstallment;
 import com.example.tailorapp.model.Payments;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface PaymentInstallmentRepository extends JpaRepository<PaymentInstallment, Long> {
+
+    // All installments of a client in one query, for the payments page
+    @Query("""
+            select i from PaymentInstallment i
+            where i.payment.client.id = :clientId
+            order by i.paymentDate, i.id""")
+    List<PaymentInstallment> findByClientId(@Param("clientId") Long clientId);
+
+    // Whole table through a forward-only cursor, for the export (caller must hold a transaction)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")}) // rows read once don't evict the cached ones
+    @Query("select i from PaymentInstallment i order by i.id")
+    Stream<PaymentInstallment> streamAll();
 }
@@ -0,0 +1,14 @@
+package com.example.tailorapp.repository;
+
+import java.time.LocalDate;
+
+/** One line of the payment report, read straight from SQL with the client name already joined. */
+public record PaymentReportRow(LocalDate date,
+                               Long clientId,
+                               String clientName,
+                               Long dressCount,
+                               Long dressRate,
+                               Long waistcoatCount,
+                               Long waistcoatRate,
+                               Long paidAmount) {
+}
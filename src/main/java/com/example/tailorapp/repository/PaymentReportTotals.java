@@ -0,0 +1,9 @@
+package com.example.tailorapp.repository;
+
+/** Grand totals of the payment report, aggregated in SQL. Sums are null when the range is empty. */
+public record PaymentReportTotals(Long dressCount,
+                                  Long waistcoatCount,
+                                  Long dressAmount,
+                                  Long waistcoatAmount,
+                                  Long paidAmount) {
+}
@@ -1,10 +1,59 @@
 package com.example.tailorapp.repository;
 
 import com.example.tailorapp.model.Payments;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface PaymentsRepository extends JpaRepository<Payments, Long> {
     List<Payments> findByClientId(Long clientId);
+
+    // Report rows for a date range only (uses idx_payments_date)
+    @Query("""
+            select new com.example.tailorapp.repository.PaymentReportRow(
+                p.date, c.id, c.name, p.dressCount, p.dressRate, p.waistcoatCount, p.waistcoatRate, p.paidAmount)
+            from Payments p join p.client c
+            where p.date between :startDate and :endDate
+            order by p.date, p.id""")
+    List<PaymentReportRow> findReportRows(@Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate);
+
+    // Same rows as findReportRows, read through a forward-only cursor (caller must hold a transaction)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("""
+            select new com.example.tailorapp.repository.PaymentReportRow(
+                p.date, c.id, c.name, p.dressCount, p.dressRate, p.waistcoatCount, p.waistcoatRate, p.paidAmount)
+            from Payments p join p.client c
+            where p.date between :startDate and :endDate
+            order by p.date, p.id""")
+    Stream<PaymentReportRow> streamReportRows(@Param("startDate") LocalDate startDate,
+                                              @Param("endDate") LocalDate endDate);
+
+    @Query("""
+            select new com.example.tailorapp.repository.PaymentReportTotals(
+                sum(coalesce(p.dressCount, 0)),
+                sum(coalesce(p.waistcoatCount, 0)),
+                sum(coalesce(p.dressRate, 0) * coalesce(p.dressCount, 0)),
+                sum(coalesce(p.waistcoatRate, 0) * coalesce(p.waistcoatCount, 0)),
+                sum(coalesce(p.paidAmount, 0)))
+            from Payments p
+            where p.date between :startDate and :endDate""")
+    PaymentReportTotals findReportTotals(@Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    // Whole table through a forward-only cursor, for the export (caller must hold a transaction)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")}) // rows read once don't evict the cached ones
+    @Query("select p from Payments p order by p.id")
+    Stream<Payments> streamAll();
 }
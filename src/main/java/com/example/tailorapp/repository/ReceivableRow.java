@@ -0,0 +1,19 @@
+package com.example.tailorapp.repository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+// One line of the receivables screen: a client and what they still owe
+public record ReceivableRow(Long clientId,
+                            String clientName,
+                            String mobile,
+                            Long remainingAmount,
+                            Long openCount,
+                            LocalDate oldestDueDate) {
+
+    // Days since the oldest open return date, 0 if nothing is past due yet
+    public long daysOverdue(LocalDate today) {
+        if (oldestDueDate == null || !oldestDueDate.isBefore(today)) return 0;
+        return ChronoUnit.DAYS.between(oldestDueDate, today);
+    }
+}
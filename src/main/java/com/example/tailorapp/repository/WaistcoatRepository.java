@@ -1,10 +1,47 @@
 package com.example.tailorapp.repository;
 
 import com.example.tailorapp.model.WaistcoatMeasurement;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface WaistcoatRepository extends JpaRepository<WaistcoatMeasurement, Long> {
+    // Newest measurement of a client: one row off idx_waistcoat_measurement_client_date (ties on date go to the higher id)
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "measurements-by-client")})
+    Optional<WaistcoatMeasurement> findFirstByClientIdOrderByDateDescIdDesc(Long clientId);
+
+    // Every measurement of a client, newest first, without hydrating the entities
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = "measurements-by-client")})
+    @Query("""
+            select new com.example.tailorapp.repository.MeasurementSummary(w.id, w.date, w.length, w.chest, w.qty, w.notes)
+            from WaistcoatMeasurement w where w.client.id = :clientId
+            order by w.date desc, w.id desc""")
+    List<MeasurementSummary> findSummariesByClientId(@Param("clientId") Long clientId);
+
+    // Clients with several rows, some maybe full copies from before versioning, for the compaction run
+    @Query("select w.client.id from WaistcoatMeasurement w group by w.client.id having count(w) > 1")
+    List<Long> findClientIdsWithSeveralRows();
     List<WaistcoatMeasurement> findByClientId(Long clientId);
+
+    @Query("select w from WaistcoatMeasurement w join fetch w.client c where w.date = :date order by c.id, w.id")
+    List<WaistcoatMeasurement> findByDateWithClient(@Param("date") LocalDate date);
+
+    // Whole table through a forward-only cursor; client is eager, so it is joined rather than loaded row by row
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")}) // rows read once don't evict the cached ones
+    @Query("select w from WaistcoatMeasurement w left join fetch w.client order by w.id")
+    Stream<WaistcoatMeasurement> streamAll();
 }
@@ -0,0 +1,12 @@
+package com.example.tailorapp.service;
+
+import com.example.tailorapp.model.Client;
+
+import java.util.List;
+
+/**
+ * One keyset page of clients, newest first.
+ * {@code nextCursor} points at older clients, {@code prevCursor} at newer ones; either is null at the edge.
+ */
+public record ClientPage(List<Client> clients, Long nextCursor, Long prevCursor) {
+}
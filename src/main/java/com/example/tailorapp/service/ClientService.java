@@ -2,28 +2,92 @@ package com.example.tailorapp.service;
 
 import com.example.tailorapp.model.Client;
 import com.example.tailorapp.repository.ClientRepository;
+import com.example.tailorapp.pdf.SlipCache;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class ClientService {
 
     private final ClientRepository repo;
+    private final SlipCache slips;
 
-    public ClientService(ClientRepository repo) {
+    public ClientService(ClientRepository repo, SlipCache slips) {
         this.repo = repo;
+        this.slips = slips;
     }
 
-    public Client save(Client c) { return repo.save(c); }
+    // The name and number are printed on every slip of the client
+    @Transactional
+    public Client save(Client c) {
+        slips.evictClient(c.getId());
+        return repo.save(c);
+    }
     public List<Client> findAll() { return repo.findAll(); }
     public Optional<Client> findById(Long id) { return repo.findById(id); }
-    public void deleteById(Long id) { repo.deleteById(id); }
+    @Transactional
+    public void deleteById(Long id) {
+        slips.evictClient(id);
+        repo.deleteById(id);
+    }
+
+    public Set<Long> findExistingIds(Collection<Long> ids) {
+        return ids.isEmpty() ? Set.of() : new HashSet<>(repo.findExistingIds(ids));
+    }
+
+    // Mobile number -> client id; when a number is shared the oldest client wins
+    public Map<String, Long> findIdsByMobile(Collection<String> mobiles) {
+        Map<String, Long> ids = new HashMap<>();
+        if (mobiles.isEmpty()) return ids;
+        for (Client c : repo.findByMobileIn(mobiles)) {
+            ids.merge(c.getMobile(), c.getId(), Math::min);
+        }
+        return ids;
+    }
+
+    // Top-k search on name, mobile and WhatsApp number, best match first
+    public List<Client> search(String q, int limit) {
+        String term = q.trim();
+        if (term.length() < 3) {
+            // Trigram index needs at least 3 characters; very short terms fall back to a bounded scan
+            return repo.findByNameContainingIgnoreCaseOrMobileContainingOrderByIdDesc(term, term, Limit.of(limit));
+        }
+        // Quote as an FTS5 phrase so user input is never parsed as query syntax
+        String match = "\"" + term.replace("\"", "\"\"") + "\"";
+        return repo.searchIndexed(match, limit);
+    }
+
+    // Keyset page: "after" walks towards older clients, "before" towards newer ones
+    public ClientPage page(Long after, Long before, int size) {
+        Limit limit = Limit.of(size + 1);
+
+        if (before != null) {
+            List<Client> rows = new ArrayList<>(repo.findByIdGreaterThanOrderByIdAsc(before, limit));
+            boolean hasNewer = rows.size() > size;
+            if (hasNewer) rows = rows.subList(0, size);
+            Collections.reverse(rows);
+            if (rows.isEmpty()) return new ClientPage(rows, null, null);
+            return new ClientPage(rows, rows.get(rows.size() - 1).getId(), hasNewer ? rows.get(0).getId() : null);
+        }
 
-    public List<Client> search(String q) {
-        if (q == null || q.isBlank()) return repo.findAll();
-        return repo.findByNameContainingIgnoreCaseOrMobileContaining(q, q);
+        List<Client> rows = (after != null)
+                ? repo.findByIdLessThanOrderByIdDesc(after, limit)
+                : repo.findAllByOrderByIdDesc(limit);
+        boolean hasOlder = rows.size() > size;
+        if (hasOlder) rows = rows.subList(0, size);
+        if (rows.isEmpty()) return new ClientPage(rows, null, null);
+        return new ClientPage(rows, hasOlder ? rows.get(rows.size() - 1).getId() : null,
+                after != null ? rows.get(0).getId() : null);
     }
 }
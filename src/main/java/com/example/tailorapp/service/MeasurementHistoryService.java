@@ -0,0 +1,239 @@
+package com.example.tailorapp.service;
+
+import com.example.tailorapp.model.MeasurementVersion;
+import com.example.tailorapp.repository.MeasurementVersionRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Hibernate;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Version history of dress / waistcoat measurements, shared by MeasurementService and WaistcoatService.
+ * The measurement row is the materialized current state; every earlier state is a MeasurementVersion
+ * holding only the fields that differ from the state after it. Rebuilding an old state walks the versions
+ * down from the row, so no full copy of a measurement is ever stored twice.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MeasurementHistoryService {
+
+    // Version metadata, not measurement values
+    private static final Set<String> UNTRACKED = Set.of("id", "date");
+
+    // Fields a copied row may have had edited since and still count as a copy when compacting
+    static final int COPY_MAX_CHANGES = 3;
+
+    private final MeasurementVersionRepository versions;
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, List<PropertyDescriptor>> tracked = new ConcurrentHashMap<>();
+
+    public MeasurementHistoryService(MeasurementVersionRepository versions, ObjectMapper objectMapper) {
+        this.versions = versions;
+        this.objectMapper = objectMapper;
+    }
+
+    /** A rebuilt earlier state of a measurement row (a detached copy, never saved). */
+    public record Past<T>(MeasurementVersion version, T state) {
+    }
+
+    // ✅ Re-order: the current state becomes a version; nothing has changed yet, so it holds no fields
+    @Transactional
+    public void push(MeasurementVersion.Type type, Long measurementId, LocalDate date) {
+        versions.save(new MeasurementVersion(null, type, measurementId, date, "{}"));
+    }
+
+    // ✅ The current row is about to be saved as "after": re-point the version below it at the new values
+    @Transactional
+    public void beforeUpdate(MeasurementVersion.Type type, Object before, Object after) {
+        versions.findFirstByTypeAndMeasurementIdOrderByIdDesc(type, idOf(before)).ifPresent(top -> {
+            Object parent = copyOf(before);
+            apply(parent, top.getChanges());
+            top.setChanges(diff(parent, after));
+        });
+    }
+
+    // ✅ Drop the current state: the row takes back the values and date of the version below it.
+    // Returns false when the row has no history, i.e. the row itself should be deleted
+    @Transactional
+    public boolean revert(MeasurementVersion.Type type, Object current) {
+        Optional<MeasurementVersion> top = versions.findFirstByTypeAndMeasurementIdOrderByIdDesc(type, idOf(current));
+        if (top.isEmpty()) return false;
+        apply(current, top.get().getChanges());
+        new BeanWrapperImpl(current).setPropertyValue("date", top.get().getDate());
+        versions.delete(top.get());
+        return true;
+    }
+
+    // Versions of several rows in one query, each list newest first
+    public Map<Long, List<MeasurementVersion>> versionsOf(MeasurementVersion.Type type, Collection<Long> measurementIds) {
+        if (measurementIds.isEmpty()) return Map.of();
+        return versions.findByTypeAndMeasurementIdInOrderByIdDesc(type, measurementIds).stream()
+                .collect(Collectors.groupingBy(MeasurementVersion::getMeasurementId, LinkedHashMap::new, Collectors.toList()));
+    }
+
+    // Every earlier state of a row, newest first, given its versions newest first
+    public <T> List<Past<T>> unwind(T current, List<MeasurementVersion> newestFirst) {
+        List<Past<T>> past = new ArrayList<>(newestFirst.size());
+        T state = current;
+        for (MeasurementVersion v : newestFirst) {
+            state = copyOf(state);
+            apply(state, v.getChanges());
+            new BeanWrapperImpl(state).setPropertyValue("date", v.getDate());
+            past.add(new Past<>(v, state));
+        }
+        return past;
+    }
+
+    // One earlier state of a row, rebuilt on demand
+    public <T> Optional<T> rebuild(MeasurementVersion.Type type, T current, Long versionId) {
+        List<MeasurementVersion> newestFirst = versions.findByTypeAndMeasurementIdOrderByIdDesc(type, idOf(current));
+        for (Past<T> p : unwind(current, newestFirst)) {
+            if (p.version().getId().equals(versionId)) return Optional.of(p.state());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Folds the copies among one client's measurement rows (re-orders from before versioning copied the whole row
+     * with today's date) into versions. Rows are taken oldest first; a row is a copy source when the next row
+     * started out with the same values, give or take COPY_MAX_CHANGES fields edited after copying. Each run of such
+     * rows is folded into its last row, which gets one version per older state. Rows entered on their own
+     * (anything else) are left as they are. Returns the rows that are now redundant; the caller deletes them.
+     */
+    @Transactional
+    public <T> List<T> compact(MeasurementVersion.Type type, List<T> rows) {
+        if (rows.size() < 2) return List.of();
+
+        // Oldest first (by date, then id), the order the copies were made in
+        Comparator<T> byDate = Comparator.comparing(r -> (LocalDate) new BeanWrapperImpl(r).getPropertyValue("date"),
+                Comparator.nullsFirst(Comparator.naturalOrder()));
+        List<T> ordered = rows.stream().sorted(byDate.thenComparing(r -> idOf(r))).toList();
+
+        // Every state of every row, oldest first, the row itself last
+        Map<Long, List<MeasurementVersion>> existing = versionsOf(type, ordered.stream().map(this::idOf).toList());
+        List<List<T>> statesOf = new ArrayList<>(ordered.size());
+        for (T row : ordered) {
+            List<Past<T>> past = unwind(row, existing.getOrDefault(idOf(row), List.of()));
+            List<T> states = new ArrayList<>(past.size() + 1);
+            for (int i = past.size() - 1; i >= 0; i--) states.add(past.get(i).state());
+            states.add(row);
+            statesOf.add(states);
+        }
+
+        List<T> redundant = new ArrayList<>();
+        List<T> folded = new ArrayList<>(); // copy sources waiting for the row they were copied into
+        List<T> run = new ArrayList<>();    // and their states
+        for (int i = 0; i < ordered.size(); i++) {
+            T row = ordered.get(i);
+            List<T> states = statesOf.get(i);
+            if (i + 1 < ordered.size() && isCopy(row, statesOf.get(i + 1).get(0))) {
+                states.set(states.size() - 1, copyOf(row));
+                run.addAll(states);
+                folded.add(row);
+                continue;
+            }
+            if (folded.isEmpty()) continue;
+
+            run.addAll(states.subList(0, states.size() - 1));
+            run.sort(byDate); // stable: rows in order, each row's states in order
+            run.add(row);
+            for (T r : folded) versions.deleteAll(existing.getOrDefault(idOf(r), List.of()));
+            versions.deleteAll(existing.getOrDefault(idOf(row), List.of()));
+            versions.saveAll(chain(type, idOf(row), run));
+            redundant.addAll(folded);
+            folded = new ArrayList<>();
+            run = new ArrayList<>();
+        }
+        return redundant;
+    }
+
+    // The (unsaved) versions of a row given all of its states, oldest first; the last state is the row itself
+    public <T> List<MeasurementVersion> chain(MeasurementVersion.Type type, Long measurementId, List<T> statesOldestFirst) {
+        List<MeasurementVersion> chain = new ArrayList<>(Math.max(statesOldestFirst.size() - 1, 0));
+        for (int i = 0; i < statesOldestFirst.size() - 1; i++) {
+            T state = statesOldestFirst.get(i);
+            LocalDate date = (LocalDate) new BeanWrapperImpl(state).getPropertyValue("date");
+            chain.add(new MeasurementVersion(null, type, measurementId, date, diff(state, statesOldestFirst.get(i + 1))));
+        }
+        return chain;
+    }
+
+    // {"field": value in "older"} for every tracked field that differs between the two states
+    String diff(Object older, Object newer) {
+        try {
+            return objectMapper.writeValueAsString(changes(older, newer));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A row copied into "copy" (same values, a new date), possibly with a few fields edited afterwards
+    private boolean isCopy(Object source, Object copy) {
+        return changes(source, copy).size() <= COPY_MAX_CHANGES;
+    }
+
+    private Map<String, Object> changes(Object older, Object newer) {
+        BeanWrapperImpl o = new BeanWrapperImpl(older);
+        BeanWrapperImpl n = new BeanWrapperImpl(newer);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (PropertyDescriptor pd : trackedFields(Hibernate.getClass(older))) {
+            Object value = o.getPropertyValue(pd.getName());
+            if (!Objects.equals(value, n.getPropertyValue(pd.getName()))) changes.put(pd.getName(), value);
+        }
+        return changes;
+    }
+
+    private void apply(Object target, String changes) {
+        try {
+            objectMapper.readerForUpdating(target).readValue(changes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable measurement version: " + changes, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copyOf(T source) {
+        T copy = (T) BeanUtils.instantiateClass(Hibernate.getClass(source));
+        BeanUtils.copyProperties(source, copy);
+        return copy;
+    }
+
+    private Long idOf(Object measurement) {
+        return (Long) new BeanWrapperImpl(measurement).getPropertyValue("id");
+    }
+
+    // The entity's plain value fields (the client association, id and date are not versioned)
+    private List<PropertyDescriptor> trackedFields(Class<?> type) {
+        return tracked.computeIfAbsent(type, t -> {
+            List<PropertyDescriptor> fields = new ArrayList<>();
+            for (Field field : t.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) continue;
+                PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(t, Introspector.decapitalize(field.getName()));
+                if (pd == null || pd.getReadMethod() == null || pd.getWriteMethod() == null) continue;
+                if (!BeanUtils.isSimpleValueType(pd.getPropertyType()) || UNTRACKED.contains(pd.getName())) continue;
+                fields.add(pd);
+            }
+            return List.copyOf(fields);
+        });
+    }
+}
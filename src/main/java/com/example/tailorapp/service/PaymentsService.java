@@ -1,99 +1,283 @@
 package com.example.tailorapp.service;
 
+import com.example.tailorapp.model.ClientBalance;
 import com.example.tailorapp.model.PaymentInstallment;
 import com.example.tailorapp.model.Payments;
+import com.example.tailorapp.repository.ClientBalanceRepository;
 import com.example.tailorapp.repository.PaymentInstallmentRepository;
+import com.example.tailorapp.repository.PaymentReportRow;
+import com.example.tailorapp.repository.PaymentReportTotals;
 import com.example.tailorapp.repository.PaymentsRepository;
+import com.example.tailorapp.repository.ReceivableRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 public class PaymentsService {
 
     private final PaymentsRepository paymentsRepository;
     private final PaymentInstallmentRepository installmentRepository;
+    private final ClientBalanceRepository balanceRepository;
 
-    public PaymentsService(PaymentsRepository paymentsRepository, PaymentInstallmentRepository installmentRepository) {
+    public PaymentsService(PaymentsRepository paymentsRepository,
+                           PaymentInstallmentRepository installmentRepository,
+                           ClientBalanceRepository balanceRepository) {
         this.paymentsRepository = paymentsRepository;
         this.installmentRepository = installmentRepository;
+        this.balanceRepository = balanceRepository;
     }
 
     public List<Payments> findByClient(Long clientId) {
         return paymentsRepository.findByClientId(clientId);
     }
 
+    public List<PaymentReportRow> findReportRows(LocalDate startDate, LocalDate endDate) {
+        return paymentsRepository.findReportRows(startDate, endDate);
+    }
+
+    // Hands report rows to the consumer one at a time while the cursor is open
+    public void forEachReportRow(LocalDate startDate, LocalDate endDate, Consumer<PaymentReportRow> consumer) {
+        try (Stream<PaymentReportRow> rows = paymentsRepository.streamReportRows(startDate, endDate)) {
+            rows.forEach(consumer);
+        }
+    }
+
+    /** How many rows a report prints, and a digest of all of them (date, client, counts, rates, paid). */
+    public record ReportFingerprint(long rows, String digest) {
+    }
+
+    // One pass over the range's rows; an edited amount, a new installment or a renamed client changes the digest
+    public ReportFingerprint reportFingerprint(LocalDate startDate, LocalDate endDate) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        long[] rows = {0};
+        forEachReportRow(startDate, endDate, row -> {
+            digest.update(row.toString().getBytes(StandardCharsets.UTF_8));
+            rows[0]++;
+        });
+        return new ReportFingerprint(rows[0], HexFormat.of().formatHex(digest.digest(), 0, 8));
+    }
+
+    public PaymentReportTotals findReportTotals(LocalDate startDate, LocalDate endDate) {
+        return paymentsRepository.findReportTotals(startDate, endDate);
+    }
+
     public Optional<Payments> findById(Long id) {
         return paymentsRepository.findById(id);
     }
 
-    public void delete(Long id) {
-        paymentsRepository.deleteById(id);
+    public Optional<ClientBalance> findBalance(Long clientId) {
+        return balanceRepository.findById(clientId);
     }
 
-    public void save(Payments payment) {
-        paymentsRepository.save(payment);
+    // Outstanding totals for a page of clients, keyed by client id (clients without payments are absent)
+    public Map<Long, ClientBalance> findBalances(Collection<Long> clientIds) {
+        return balanceRepository.findAllById(clientIds).stream()
+                .collect(Collectors.toMap(ClientBalance::getClientId, Function.identity()));
     }
 
-    // ✅ Save & re-sync totals
-    public void saveAndSync(Payments payment) {
-        syncTotals(payment);
-        paymentsRepository.save(payment);
+    // Receivables screen: clients that still owe money, by amount, by age, or only those past their return date
+    public List<ReceivableRow> findReceivables(String sort, boolean overdueOnly, int limit) {
+        if (overdueOnly) return balanceRepository.findOverdue(LocalDate.now(), Limit.of(limit));
+        if ("age".equals(sort)) return balanceRepository.findTopByAge(Limit.of(limit));
+        return balanceRepository.findTopByAmount(Limit.of(limit));
     }
 
-    // ✅ Central total syncing method
-    public void syncTotals(Payments payment) {
-        long totalPaid = 0;
-        if (payment.getInstallments() != null) {
-            totalPaid = payment.getInstallments()
-                    .stream()
-                    .filter(i -> i.getPaidAmount() != null)
-                    .mapToLong(PaymentInstallment::getPaidAmount)
-                    .sum();
+    public long totalOutstanding() {
+        return balanceRepository.sumOutstanding();
+    }
+
+    // Installments of every payment of the client, grouped by payment id (one query, no lazy loading)
+    public Map<Long, List<PaymentInstallment>> findInstallmentsByClient(Long clientId) {
+        return installmentRepository.findByClientId(clientId).stream()
+                .collect(Collectors.groupingBy(i -> i.getPayment().getId()));
+    }
+
+    // ✅ Delete payment and take it out of the client balance
+    @Transactional
+    public Optional<Payments> delete(Long id) {
+        Optional<Payments> opt = paymentsRepository.findById(id);
+        if (opt.isEmpty()) return Optional.empty();
+
+        Payments payment = opt.get();
+        Ledger before = Ledger.of(payment);
+        paymentsRepository.delete(payment);
+        applyToBalance(payment.getClient().getId(), before, Ledger.NONE);
+        return opt;
+    }
+
+    // ✅ Save new or edited payment; paid amount stays whatever the installments already put there
+    @Transactional
+    public Payments saveAndSync(Payments form) {
+        Payments payment = form;
+        Ledger before = Ledger.NONE;
+
+        if (form.getId() != null) {
+            Payments existing = paymentsRepository.findById(form.getId()).orElse(null);
+            if (existing != null) {
+                before = Ledger.of(existing);
+
+                // Copy the editable fields so the installments collection is never loaded
+                existing.setDate(form.getDate());
+                existing.setDressCount(form.getDressCount());
+                existing.setDressRate(form.getDressRate());
+                existing.setWaistcoatCount(form.getWaistcoatCount());
+                existing.setWaistcoatRate(form.getWaistcoatRate());
+                existing.setTotalAmount(form.getTotalAmount());
+                existing.setReturnDate(form.getReturnDate());
+                existing.setReturnStatus(form.getReturnStatus());
+                existing.setNotes(form.getNotes());
+                payment = existing;
+            } else {
+                form.setId(null);
+            }
         }
 
-        long total = (payment.getTotalAmount() != null ? payment.getTotalAmount() : 0);
-        long remaining = Math.max(total - totalPaid, 0);
+        applyPaid(payment, before.paid());
+        payment = paymentsRepository.save(payment);
+        applyToBalance(payment.getClient().getId(), before, Ledger.of(payment));
+        return payment;
+    }
 
-        payment.setPaidAmount(totalPaid);
-        payment.setRemainingAmount(remaining);
+    // ✅ Add installment and move the parent totals by its amount
+    @Transactional
+    public Optional<Payments> addInstallment(Long paymentId, Long paidAmount, String note, LocalDate paymentDate) {
+        Optional<Payments> opt = paymentsRepository.findById(paymentId);
+        if (opt.isEmpty()) return Optional.empty();
 
-        if (remaining <= 0 && total > 0) payment.setPaymentStatus("Paid");
-        else if (totalPaid > 0) payment.setPaymentStatus("Partial");
-        else payment.setPaymentStatus("Unpaid");
+        Payments payment = opt.get();
+        PaymentInstallment installment = new PaymentInstallment();
+        installment.setPayment(payment);
+        installment.setPaidAmount(paidAmount);
+        installment.setNote(note);
+        installment.setPaymentDate(paymentDate != null ? paymentDate : LocalDate.now());
+        installmentRepository.save(installment);
+
+        applyPaidDelta(payment, nz(paidAmount));
+        return opt;
     }
 
-    // ✅ Delete installment and sync parent totals
+    // ✅ Delete installment and take its amount off the parent totals
+    @Transactional
     public Optional<Payments> deleteInstallmentAndSync(Long installmentId) {
         Optional<PaymentInstallment> instOpt = installmentRepository.findById(installmentId);
         if (instOpt.isEmpty()) return Optional.empty();
 
-        Payments parent = instOpt.get().getPayment();
-        installmentRepository.deleteById(installmentId);
+        PaymentInstallment inst = instOpt.get();
+        Payments parent = inst.getPayment();
+        installmentRepository.delete(inst);
 
-        parent.getInstallments().removeIf(i -> i.getId().equals(installmentId));
-        syncTotals(parent);
-        paymentsRepository.save(parent);
+        applyPaidDelta(parent, -nz(inst.getPaidAmount()));
         return Optional.of(parent);
     }
 
-    // ✅ Edit installment and sync parent totals
+    // ✅ Edit installment and move the parent totals by the difference
+    @Transactional
     public Optional<Payments> updateInstallmentAndSync(Long installmentId, Long paidAmount, String note, LocalDate paymentDate) {
         Optional<PaymentInstallment> instOpt = installmentRepository.findById(installmentId);
         if (instOpt.isEmpty()) return Optional.empty();
 
         PaymentInstallment inst = instOpt.get();
+        long delta = nz(paidAmount) - nz(inst.getPaidAmount());
         inst.setPaidAmount(paidAmount);
         inst.setNote(note);
         if (paymentDate != null) inst.setPaymentDate(paymentDate);
 
-        installmentRepository.save(inst);
-
         Payments parent = inst.getPayment();
-        syncTotals(parent);
-        paymentsRepository.save(parent);
+        applyPaidDelta(parent, delta);
         return Optional.of(parent);
     }
+
+    // ✅ Full recompute from the installments; only for repairing drift, never on the request path
+    @Transactional
+    public void syncTotals(Payments payment) {
+        Ledger before = Ledger.of(payment);
+
+        long totalPaid = 0;
+        if (payment.getInstallments() != null) {
+            totalPaid = payment.getInstallments()
+                    .stream()
+                    .filter(i -> i.getPaidAmount() != null)
+                    .mapToLong(PaymentInstallment::getPaidAmount)
+                    .sum();
+        }
+        applyPaid(payment, totalPaid);
+
+        if (payment.getId() != null && payment.getClient() != null) {
+            applyToBalance(payment.getClient().getId(), before, Ledger.of(payment));
+        }
+    }
+
+    private void applyPaidDelta(Payments payment, long delta) {
+        Ledger before = Ledger.of(payment);
+        applyPaid(payment, before.paid() + delta);
+        applyToBalance(payment.getClient().getId(), before, Ledger.of(payment));
+    }
+
+    // Derives remaining amount and status from the paid amount (O(1), no installments involved)
+    public static void applyPaid(Payments payment, long totalPaid) {
+        long total = nz(payment.getTotalAmount());
+        long remaining = Math.max(total - totalPaid, 0);
+
+        payment.setPaidAmount(totalPaid);
+        payment.setRemainingAmount(remaining);
+
+        if (remaining <= 0 && total > 0) payment.setPaymentStatus("Paid");
+        else if (totalPaid > 0) payment.setPaymentStatus("Partial");
+        else payment.setPaymentStatus("Unpaid");
+    }
+
+    // Moves the client's rollup by the difference between a payment's before / after state
+    private void applyToBalance(Long clientId, Ledger before, Ledger after) {
+        long total = after.total() - before.total();
+        long paid = after.paid() - before.paid();
+        long remaining = after.remaining() - before.remaining();
+        long open = after.open() - before.open();
+
+        if (total != 0 || paid != 0 || remaining != 0 || open != 0) {
+            if (balanceRepository.addDelta(clientId, total, paid, remaining, open) == 0) {
+                balanceRepository.save(new ClientBalance(clientId, total, paid, remaining, open, null));
+            }
+        }
+        // The oldest due date is a min(), which deltas can't maintain; re-read it from this client's payments only
+        if (open != 0 || (after.open() > 0 && !Objects.equals(before.returnDate(), after.returnDate()))) {
+            balanceRepository.refreshOldestDueDate(clientId);
+        }
+    }
+
+    // The parts of a payment the rollup is built from
+    private record Ledger(long total, long paid, long remaining, long open, LocalDate returnDate) {
+        static final Ledger NONE = new Ledger(0, 0, 0, 0, null);
+
+        static Ledger of(Payments p) {
+            long remaining = nz(p.getRemainingAmount());
+            return new Ledger(nz(p.getTotalAmount()), nz(p.getPaidAmount()), remaining,
+                    remaining > 0 ? 1 : 0, p.getReturnDate());
+        }
+    }
+
+    private static long nz(Long v) {
+        return v != null ? v : 0;
+    }
 }
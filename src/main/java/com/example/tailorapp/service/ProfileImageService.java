@@ -0,0 +1,176 @@
+package com.example.tailorapp.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Produces downscaled JPEG variants of client pictures next to the original upload:
+ * {@code name_thumb.jpg} for the client list and {@code name_view.jpg} for the client page.
+ * Templates ask for a variant and get the original until it has been generated; pictures that can't be
+ * converted keep the original.
+ */
+@Service
+@EnableConfigurationProperties(StorageProperties.class)
+public class ProfileImageService {
+
+    private static final String URL_PREFIX = "/client-profiles/";
+
+    public enum Variant {
+        THUMB("_thumb", 96), VIEW("_view", 480);
+
+        final String suffix;
+        final int maxPixels;
+
+        Variant(String suffix, int maxPixels) {
+            this.suffix = suffix;
+            this.maxPixels = maxPixels;
+        }
+    }
+
+    private final StorageProperties storageProperties;
+    private final ObjectProvider<ProfileImageService> self;
+    // By original file name (pictures are stored under a hash of their bytes, so a name never changes content)
+    private final Set<String> ready = ConcurrentHashMap.newKeySet();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<String> failed = ConcurrentHashMap.newKeySet(); // not retried until the next start
+
+    // The bean's own proxy, looked up on use (not a @Lazy proxy, which the AOT-processed context can't build),
+    // so calls from requestVariants still run asynchronously
+    public ProfileImageService(StorageProperties storageProperties, ObjectProvider<ProfileImageService> self) {
+        this.storageProperties = storageProperties;
+        this.self = self;
+    }
+
+    // After an upload: queue the variants; when the image pool is full the original is shown until the next start
+    public void requestVariants(Path original) {
+        String name = original.getFileName().toString();
+        if (ready.contains(name) || failed.contains(name) || !inFlight.add(name)) return;
+        try {
+            self.getObject().createVariants(original);
+        } catch (TaskRejectedException e) {
+            inFlight.remove(name);
+            System.err.println("⚠️ Image pool busy, no picture variants for " + name + " yet");
+        }
+    }
+
+    // Runs on the image pool; the upload request has already returned
+    @Async("imageTaskExecutor")
+    public void createVariants(Path original) {
+        convert(original);
+    }
+
+    /**
+     * Pictures uploaded before variants existed (or while the pool was full), converted one after another
+     * as a single task on the image pool. Called once at startup (AppStartup); pages show the original meanwhile.
+     */
+    @Async("imageTaskExecutor")
+    public void backfillVariants() {
+        Path dir = Paths.get(storageProperties.getClientPath());
+        if (!Files.isDirectory(dir)) return;
+        List<Path> missing = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(Files::isRegularFile).filter(ProfileImageService::isOriginal).forEach(original -> {
+                boolean complete = Arrays.stream(Variant.values()).allMatch(v -> Files.exists(variantPath(original, v)));
+                if (complete) ready.add(original.getFileName().toString());
+                else missing.add(original);
+            });
+        } catch (IOException e) {
+            System.err.println("❌ Could not list " + dir + ": " + e.getMessage());
+            return;
+        }
+        int created = 0;
+        for (Path original : missing) {
+            if (inFlight.add(original.getFileName().toString()) && convert(original)) created++;
+        }
+        if (created > 0) System.out.println("🖼️ Created picture variants for " + created + " older uploads");
+    }
+
+    // false when the picture couldn't be converted
+    private boolean convert(Path original) {
+        String name = original.getFileName().toString();
+        try {
+            BufferedImage source = ImageIO.read(original.toFile());
+            if (source == null) { // not a format ImageIO can read, keep serving the original
+                failed.add(name);
+                return false;
+            }
+            for (Variant v : Variant.values()) {
+                Path target = variantPath(original, v);
+                Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+                ImageIO.write(downscale(source, v.maxPixels), "jpg", tmp.toFile());
+                Files.move(tmp, target, java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            }
+            ready.add(name);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            failed.add(name);
+            System.err.println("❌ Could not create picture variants for " + original + ": " + e.getMessage());
+            return false;
+        } finally {
+            inFlight.remove(name);
+        }
+    }
+
+    public String thumbnail(String pictureFilename) {
+        return variantUrl(pictureFilename, Variant.THUMB);
+    }
+
+    public String viewImage(String pictureFilename) {
+        return variantUrl(pictureFilename, Variant.VIEW);
+    }
+
+    // Called by the templates on every render: a set lookup, no file access and no conversion work
+    private String variantUrl(String pictureFilename, Variant v) {
+        if (pictureFilename == null || !pictureFilename.startsWith(URL_PREFIX)) return pictureFilename;
+
+        String name = pictureFilename.substring(URL_PREFIX.length());
+        if (!ready.contains(name)) return pictureFilename;
+        return URL_PREFIX + variantPath(Path.of(name), v).getFileName();
+    }
+
+    // Uploads themselves, not the variants or half-written temp files next to them
+    private static boolean isOriginal(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".tmp")) return false;
+        return Arrays.stream(Variant.values()).noneMatch(v -> name.endsWith(v.suffix + ".jpg"));
+    }
+
+    private static Path variantPath(Path original, Variant v) {
+        String name = original.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return original.resolveSibling(base + v.suffix + ".jpg");
+    }
+
+    private static BufferedImage downscale(BufferedImage source, int maxPixels) {
+        double ratio = Math.min(1.0, (double) maxPixels / Math.max(source.getWidth(), source.getHeight()));
+        int w = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int h = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        BufferedImage scaled = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.setColor(Color.WHITE); // JPEG has no alpha; flatten transparent camera PNGs onto white
+        g.fillRect(0, 0, w, h);
+        g.drawImage(source, 0, 0, w, h, null);
+        g.dispose();
+        return scaled;
+    }
+}
@@ -1,29 +1,112 @@
 package com.example.tailorapp.service;
 
 import com.example.tailorapp.model.WaistcoatMeasurement;
+import com.example.tailorapp.model.MeasurementVersion;
 import com.example.tailorapp.repository.WaistcoatRepository;
+import com.example.tailorapp.repository.MeasurementSummary;
+import com.example.tailorapp.pdf.SlipCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class WaistcoatService {
 
+    private static final MeasurementVersion.Type TYPE = MeasurementVersion.Type.WAISTCOAT;
+
     private final WaistcoatRepository repo;
+    private final MeasurementHistoryService history;
+    private final SlipCache slips;
+
+    public WaistcoatService(WaistcoatRepository repo, MeasurementHistoryService history, SlipCache slips) {
+        this.repo = repo;
+        this.history = history;
+        this.slips = slips;
+    }
+
+    @Transactional
+    public WaistcoatMeasurement save(WaistcoatMeasurement m) {
+        // An edit of the current state: the version below it must still rebuild the state it replaced
+        if (m.getId() != null) repo.findById(m.getId()).ifPresent(before -> history.beforeUpdate(TYPE, before, m));
+        slips.evictMeasurement("waistcoat", m.getId());
+        return repo.save(m);
+    }
+
+    // ✅ Re-order: the current state moves into the history (only what changes later gets stored) and the row is dated today
+    @Transactional
+    public Optional<WaistcoatMeasurement> newVersion(Long measurementId) {
+        Optional<WaistcoatMeasurement> current = repo.findById(measurementId);
+        current.ifPresent(m -> {
+            history.push(TYPE, m.getId(), m.getDate());
+            m.setDate(LocalDate.now());
+            slips.evictMeasurement("waistcoat", m.getId());
+        });
+        return current;
+    }
+
+    public Optional<WaistcoatMeasurement> findLatestByClient(Long clientId) {
+        return repo.findFirstByClientIdOrderByDateDescIdDesc(clientId);
+    }
 
-    public WaistcoatService(WaistcoatRepository repo) { this.repo = repo; }
+    // Everything but the latest state, newest first: earlier versions plus any other rows of the client
+    public List<MeasurementSummary> findHistory(Long clientId, WaistcoatMeasurement latest) {
+        List<MeasurementSummary> rows = repo.findSummariesByClientId(clientId);
+        List<MeasurementSummary> out = new ArrayList<>();
+        for (MeasurementSummary s : rows) {
+            if (latest == null || !s.id().equals(latest.getId())) out.add(s);
+        }
 
-    public WaistcoatMeasurement save(WaistcoatMeasurement m) { return repo.save(m); }
-    public List<WaistcoatMeasurement> findByClient(Long clientId) { return repo.findByClientId(clientId); }
+        Map<Long, List<MeasurementVersion>> versions = history.versionsOf(TYPE, rows.stream().map(MeasurementSummary::id).toList());
+        versions.forEach((id, newestFirst) -> {
+            WaistcoatMeasurement current = latest != null && latest.getId().equals(id) ? latest : repo.findById(id).orElse(null);
+            if (current == null) return;
+            for (MeasurementHistoryService.Past<WaistcoatMeasurement> p : history.unwind(current, newestFirst)) {
+                WaistcoatMeasurement m = p.state();
+                out.add(new MeasurementSummary(id, p.version().getId(), m.getDate(), m.getLength(), m.getChest(), m.getQty(), m.getNotes()));
+            }
+        });
+
+        out.sort(Comparator.comparing(MeasurementSummary::date, Comparator.nullsLast(Comparator.reverseOrder())));
+        return out;
+    }
+
+    // An earlier version of a measurement, rebuilt from the current row
+    public Optional<WaistcoatMeasurement> findVersion(Long measurementId, Long versionId) {
+        return repo.findById(measurementId).flatMap(m -> history.rebuild(TYPE, m, versionId));
+    }
+
+    public List<WaistcoatMeasurement> findByDate(LocalDate date) { return repo.findByDateWithClient(date); }
 
     public Optional<WaistcoatMeasurement> findById(Long measurementId) {
         return repo.findById(measurementId);
     }
 
+    // Deletes the current state: the row goes back to its previous version, or is removed when it has none
+    @Transactional
     public void deleteById(Long measurementId) {
-        repo.deleteById(measurementId);
+        repo.findById(measurementId).ifPresent(m -> {
+            if (!history.revert(TYPE, m)) repo.delete(m);
+            slips.evictMeasurement("waistcoat", m.getId());
+        });
+    }
+
+    // Clients with more than one row, where full copies from before versioning may be left
+    public List<Long> findClientIdsToCompact() {
+        return repo.findClientIdsWithSeveralRows();
+    }
+
+    // Folds copied rows of a client into the row they were copied into; returns the number of rows removed
+    @Transactional
+    public int compactClient(Long clientId) {
+        List<WaistcoatMeasurement> redundant = history.compact(TYPE, repo.findByClientId(clientId));
+        repo.deleteAll(redundant);
+        return redundant.size();
     }
 }
@@ -0,0 +1,22 @@
+-- Tables added after the first release: the per-client balance rollup (rebuilt from payments at startup when
+-- empty, see ClientBalanceInitializer) and measurement history versions.
+-- IF NOT EXISTS because databases that ran a later ddl-auto=update build already have them.
+
+CREATE TABLE IF NOT EXISTS client_balance (
+    client_id bigint not null,
+    oldest_due_date date,
+    open_count bigint,
+    paid_amount bigint,
+    remaining_amount bigint,
+    total_amount bigint,
+    primary key (client_id)
+);
+
+CREATE TABLE IF NOT EXISTS measurement_version (
+    id integer,
+    changes varchar(255),
+    date date,
+    measurement_id bigint,
+    type varchar(255) check (type in ('DRESS','WAISTCOAT')),
+    primary key (id)
+);
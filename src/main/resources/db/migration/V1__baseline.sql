@@ -0,0 +1,108 @@
+-- Schema of the first release, as its spring.jpa.hibernate.ddl-auto=update created it: the five tables below and
+-- nothing else. Existing databases are baselined at this version; everything added since comes in later migrations.
+
+CREATE TABLE client (
+    id integer,
+    address varchar(255),
+    mobile varchar(255) not null,
+    name varchar(255) not null,
+    picture_filename varchar(255),
+    whats_app_no varchar(255),
+    primary key (id)
+);
+
+CREATE TABLE dress_measurement (
+    id integer,
+    dress_qty integer,
+    arm float,
+    asan float,
+    bain_size float,
+    bain_type varchar(255),
+    button_type varchar(255),
+    center_arm float,
+    chest float,
+    chest_fitting float,
+    collar_size float,
+    collar_type varchar(255),
+    cuff_design varchar(255),
+    cuff_length float,
+    cuff_type varchar(255),
+    cuff_width float,
+    daman_stitching varchar(255),
+    daman_type varchar(255),
+    date date,
+    design_stitch boolean,
+    front_patti_kaj integer,
+    front_patti_type varchar(255),
+    front_pocket boolean,
+    front_pocket_type varchar(255),
+    hip float,
+    jali varchar(255),
+    kameez_length float,
+    kanta boolean,
+    lower_arm float,
+    notes varchar(255),
+    payncha float,
+    round float,
+    shalwar_fitting float,
+    shalwar_length float,
+    shalwar_pocket boolean,
+    shoulder_arm float,
+    side_pocket varchar(255),
+    stitch_type varchar(255),
+    terra float,
+    terra_down float,
+    upper_arm float,
+    waist float,
+    with_bain integer,
+    with_collar integer,
+    with_design integer,
+    wrist_type varchar(255),
+    client_id bigint,
+    primary key (id)
+);
+
+CREATE TABLE waistcoat_measurement (
+    id integer,
+    bain_size float,
+    bain_type varchar(255),
+    chest float,
+    chest_fitting float,
+    daman_type varchar(255),
+    date date,
+    hip float,
+    length float,
+    neck float,
+    notes varchar(255),
+    qty integer,
+    shoulder float,
+    client_id bigint,
+    primary key (id)
+);
+
+CREATE TABLE payments (
+    id integer,
+    date date,
+    dress_count bigint,
+    dress_rate bigint,
+    notes varchar(255),
+    paid_amount bigint,
+    payment_status varchar(255),
+    remaining_amount bigint,
+    return_date date,
+    return_status varchar(255),
+    total_amount bigint,
+    waistcoat_count bigint,
+    waistcoat_rate bigint,
+    client_id bigint,
+    primary key (id)
+);
+
+CREATE TABLE payment_installment (
+    id integer,
+    note varchar(255),
+    paid_amount bigint,
+    payment_date date,
+    payment_id bigint,
+    primary key (id)
+);
@@ -0,0 +1,44 @@
+-- Indexes the repository queries rely on (previously created by ddl-auto from the entities' @Index),
+-- IF NOT EXISTS because databases baselined at V1 may already have some of them
+
+-- Latest measurement per client: ORDER BY date DESC, id DESC LIMIT 1 reads one index entry
+CREATE INDEX IF NOT EXISTS idx_dress_measurement_client_date ON dress_measurement (client_id, date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_waistcoat_measurement_client_date ON waistcoat_measurement (client_id, date DESC, id DESC);
+
+-- Versions of one measurement line, oldest first
+CREATE INDEX IF NOT EXISTS idx_measurement_version_line ON measurement_version (type, measurement_id, id);
+
+-- Report date ranges, a client's payments and overdue return dates, installments of a payment
+CREATE INDEX IF NOT EXISTS idx_payments_date ON payments (date);
+CREATE INDEX IF NOT EXISTS idx_payments_client_return ON payments (client_id, return_date);
+CREATE INDEX IF NOT EXISTS idx_payment_installment_payment ON payment_installment (payment_id);
+
+-- Receivables screen sorts
+CREATE INDEX IF NOT EXISTS idx_client_balance_remaining ON client_balance (remaining_amount);
+CREATE INDEX IF NOT EXISTS idx_client_balance_oldest_due ON client_balance (oldest_due_date);
+
+-- Client search: FTS5 shadow index over name / mobile / WhatsApp number. The trigram tokenizer lets MATCH
+-- answer substring queries from the index instead of a LIKE scan; the triggers keep it in step with the table.
+CREATE VIRTUAL TABLE IF NOT EXISTS client_fts USING fts5(
+  name, mobile, whats_app_no,
+  content = 'client', content_rowid = 'id', tokenize = 'trigram');
+
+-- Index the clients saved before the index existed (a no-op on a new database)
+INSERT INTO client_fts(client_fts) VALUES ('rebuild');
+
+CREATE TRIGGER IF NOT EXISTS client_fts_ai AFTER INSERT ON client BEGIN
+  INSERT INTO client_fts(rowid, name, mobile, whats_app_no)
+  VALUES (new.id, new.name, new.mobile, new.whats_app_no);
+END;
+
+CREATE TRIGGER IF NOT EXISTS client_fts_ad AFTER DELETE ON client BEGIN
+  INSERT INTO client_fts(client_fts, rowid, name, mobile, whats_app_no)
+  VALUES ('delete', old.id, old.name, old.mobile, old.whats_app_no);
+END;
+
+CREATE TRIGGER IF NOT EXISTS client_fts_au AFTER UPDATE ON client BEGIN
+  INSERT INTO client_fts(client_fts, rowid, name, mobile, whats_app_no)
+  VALUES ('delete', old.id, old.name, old.mobile, old.whats_app_no);
+  INSERT INTO client_fts(rowid, name, mobile, whats_app_no)
+  VALUES (new.id, new.name, new.mobile, new.whats_app_no);
+END;
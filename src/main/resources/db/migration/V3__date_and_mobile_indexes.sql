@@ -0,0 +1,9 @@
+-- Lookups that read the whole table before this (found by QueryPlanTest).
+-- The foreign keys are already covered: client_id leads the measurement and payment indexes (V2).
+
+-- Print batch for a day (findByDateWithClient): the (client_id, date) index can't seek on date alone
+CREATE INDEX IF NOT EXISTS idx_dress_measurement_date ON dress_measurement (date);
+CREATE INDEX IF NOT EXISTS idx_waistcoat_measurement_date ON waistcoat_measurement (date);
+
+-- CSV import matching rows to existing clients by mobile number (findByMobileIn)
+CREATE INDEX IF NOT EXISTS idx_client_mobile ON client (mobile);
@@ -0,0 +1,182 @@
+package com.example.tailorapp.queryplan;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Runs every query method declared on the app's repositories once, with placeholder arguments, inside a transaction
+ * that is rolled back, and asks SQLite for the plan of each statement it ran (EXPLAIN QUERY PLAN).
+ * A plan that reads a whole table ("SCAN t", walked in rowid or index order) fails, unless the statement has no
+ * WHERE clause and its scan already comes out in the requested order, so the LIMIT stops it after a page.
+ * Plans depend on the schema, not on the data, so an empty database migrated to the latest version is enough.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.tailorapp.queryplan.SqlCapture")
+class QueryPlanTest {
+
+    // Whole-table reads on purpose, by method name
+    private static final Map<String, String> WHOLE_TABLE = Map.of(
+            "streamAll", "export of every row",
+            "findClientIdsWithSeveralRows", "compaction run over every client",
+            "findByNameContainingIgnoreCaseOrMobileContainingOrderByIdDesc",
+            "search terms under 3 characters, which the trigram index can't answer");
+
+    // A new database for every run (the class is also loaded when Gradle AOT-processes the tests)
+    private static final Path DIR = freshDirectory(Path.of("build", "query-plan-test"));
+
+    @DynamicPropertySource
+    static void paths(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + DIR.resolve("tailor.db"));
+        registry.add("tailor.upload.client-path", () -> DIR.resolve("client-profiles").toString());
+        registry.add("tailor.print.jobs.path", () -> DIR.resolve("print-jobs").toString());
+    }
+
+    @Autowired
+    List<Repository<?, ?>> repositories;
+    @Autowired
+    PlatformTransactionManager txManager;
+    @Autowired
+    JdbcTemplate jdbc;
+    @Autowired
+    EntityManagerFactory emf;
+
+    @TestFactory
+    Stream<DynamicTest> noQueryReadsAWholeTable() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Repository<?, ?> repository : repositories) {
+            Class<?> type = appInterface(repository);
+            for (Method method : type.getDeclaredMethods()) {
+                if (method.isDefault() || method.isSynthetic() || Modifier.isStatic(method.getModifiers())) continue;
+                tests.add(dynamicTest(type.getSimpleName() + "." + method.getName(), () -> check(repository, method)));
+            }
+        }
+        return tests.stream().sorted(Comparator.comparing(DynamicTest::getDisplayName));
+    }
+
+    private void check(Object repository, Method method) {
+        // Cached query results would answer without any SQL
+        emf.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        String[] error = new String[1];
+        List<String> statements = new TransactionTemplate(txManager).execute(status -> {
+            status.setRollbackOnly(); // @Modifying queries run too
+            SqlCapture.start();
+            try {
+                Object result = method.invoke(repository, sampleArguments(method));
+                if (result instanceof Stream<?> stream) stream.close();
+            } catch (InvocationTargetException e) {
+                error[0] = e.getCause().toString();
+            } catch (ReflectiveOperationException | IllegalArgumentException e) {
+                error[0] = e.toString();
+            }
+            return SqlCapture.stop();
+        });
+        assertFalse(statements == null || statements.isEmpty(),
+                () -> "no SQL ran" + (error[0] != null ? " (" + error[0] + ")" : ""));
+
+        List<String> problems = new ArrayList<>();
+        List<String> lines = new ArrayList<>();
+        for (String sql : statements) {
+            List<String> plan = plan(sql);
+            lines.addAll(plan);
+            lines.add(sql);
+            String lower = sql.toLowerCase(Locale.ROOT);
+            boolean firstPage = !lower.contains(" where ") && lower.contains(" limit ")
+                    && plan.stream().noneMatch(p -> p.startsWith("USE TEMP B-TREE"));
+            for (String step : plan) {
+                if (readsWholeTable(step) && !firstPage) problems.add(step);
+            }
+        }
+        if (!problems.isEmpty() && !WHOLE_TABLE.containsKey(method.getName())) {
+            fail("full table scan (" + String.join(", ", problems) + ")\n    " + String.join("\n    ", lines));
+        }
+    }
+
+    // "SCAN t" and "SCAN t USING [COVERING] INDEX i" visit every row; SEARCH steps, the FTS index and constants don't
+    private static boolean readsWholeTable(String step) {
+        return step.startsWith("SCAN ") && !step.contains(" VIRTUAL TABLE ") && !step.equals("SCAN CONSTANT ROW");
+    }
+
+    // The plan's detail column, one line per step; parameters are left NULL (the plan doesn't depend on them)
+    private List<String> plan(String sql) {
+        return jdbc.query("EXPLAIN QUERY PLAN " + sql,
+                ps -> {
+                    int n = ps.getParameterMetaData().getParameterCount();
+                    for (int i = 1; i <= n; i++) ps.setObject(i, null);
+                },
+                (rs, i) -> rs.getString("detail"));
+    }
+
+    private static Path freshDirectory(Path dir) {
+        try {
+            FileSystemUtils.deleteRecursively(dir);
+            return Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Class<?> appInterface(Repository<?, ?> repository) {
+        return Arrays.stream(repository.getClass().getInterfaces())
+                .filter(i -> Repository.class.isAssignableFrom(i))
+                .filter(i -> i.getPackageName().startsWith("com.example.tailorapp"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Not an app repository: " + repository.getClass()));
+    }
+
+    private static Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Type[] generic = method.getGenericParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) args[i] = sample(types[i], generic[i]);
+        return args;
+    }
+
+    private static Object sample(Class<?> type, Type generic) {
+        if (type == Long.class || type == long.class) return 1L;
+        if (type == Integer.class || type == int.class) return 10;
+        if (type == String.class) return "abc";
+        if (type == LocalDate.class) return LocalDate.now();
+        if (type == Limit.class) return Limit.of(10);
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (Collection.class.isAssignableFrom(type) && generic instanceof ParameterizedType p
+                && p.getActualTypeArguments()[0] instanceof Class<?> element) {
+            return List.of(sample(element, element), sample(element, element));
+        }
+        throw new IllegalArgumentException("No sample value for a " + generic.getTypeName() + " parameter");
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.tailorapp.queryplan;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands the SQL Hibernate prepares on this thread to QueryPlanTest, between start() and stop().
+ * Registered as hibernate.session_factory.statement_inspector in that test's context only; statements pass
+ * through unchanged.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    public static void start() {
+        CAPTURED.set(new ArrayList<>());
+    }
+
+    // Statements prepared since start(), in order
+    public static List<String> stop() {
+        List<String> sql = CAPTURED.get();
+        CAPTURED.remove();
+        return sql != null ? sql : List.of();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null) captured.add(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.tailorapp.service;
+
+import com.example.tailorapp.model.Client;
+import com.example.tailorapp.model.DressMeasurement;
+import com.example.tailorapp.model.MeasurementVersion;
+import com.example.tailorapp.repository.ClientRepository;
+import com.example.tailorapp.repository.MeasurementRepository;
+import com.example.tailorapp.repository.MeasurementVersionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The --compact-measurements run on rows written the way the app did before versioning:
+ * copyMeasurement stored a full copy with a new date, addMeasurement a row of its own.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class MeasurementCompactionTest {
+
+    // A new database for every run (the class is also loaded when Gradle AOT-processes the tests)
+    private static final Path DIR = freshDirectory(Path.of("build", "measurement-compaction-test"));
+
+    @DynamicPropertySource
+    static void paths(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:sqlite:" + DIR.resolve("tailor.db"));
+        registry.add("tailor.upload.client-path", () -> DIR.resolve("client-profiles").toString());
+        registry.add("tailor.print.jobs.path", () -> DIR.resolve("print-jobs").toString());
+    }
+
+    private static final LocalDate JAN = LocalDate.of(2024, 1, 10);
+    private static final LocalDate MAR = LocalDate.of(2024, 3, 5);
+    private static final LocalDate JUN = LocalDate.of(2024, 6, 20);
+
+    @Autowired
+    MeasurementService measurementService;
+    @Autowired
+    ClientRepository clientRepository;
+    @Autowired
+    MeasurementRepository measurementRepository;
+    @Autowired
+    MeasurementVersionRepository versionRepository;
+
+    @Test
+    void foldsACopyIntoTheRowItWasCopiedInto() {
+        Client client = client("0300-1000001");
+        DressMeasurement original = measurementRepository.save(dress(client, JAN, 40.0, 38.0, 34.0));
+        // Copied in March, then the chest taken in by half an inch
+        DressMeasurement copy = copyOf(original, MAR);
+        copy.setChest(37.5);
+        copy = measurementRepository.save(copy);
+
+        assertEquals(1, measurementService.compactClient(client.getId()));
+
+        assertEquals(List.of(copy.getId()), rowIds(client));
+        List<MeasurementVersion> versions = versionRepository.findByTypeAndMeasurementIdOrderByIdDesc(
+                MeasurementVersion.Type.DRESS, copy.getId());
+        assertEquals(1, versions.size());
+        assertEquals(JAN, versions.get(0).getDate());
+        assertEquals("{\"chest\":38.0}", versions.get(0).getChanges());
+
+        DressMeasurement rebuilt = measurementService.findVersion(copy.getId(), versions.get(0).getId()).orElseThrow();
+        assertEquals(38.0, rebuilt.getChest());
+        assertEquals(40.0, rebuilt.getKameezLength());
+    }
+
+    @Test
+    void leavesSeparatelyEnteredRowsAlone() {
+        Client client = client("0300-1000002");
+        // An adult's measurement, then one entered for a child's suit on the same account, then a re-order of that
+        DressMeasurement adult = measurementRepository.save(dress(client, JAN, 40.0, 38.0, 34.0));
+        DressMeasurement child = dress(client, MAR, 30.0, 26.0, 24.0);
+        child.setArm(18.0);
+        child.setShalwarLength(32.0);
+        child = measurementRepository.save(child);
+        DressMeasurement reorder = measurementRepository.save(copyOf(child, JUN));
+
+        assertEquals(1, measurementService.compactClient(client.getId()));
+
+        assertEquals(List.of(adult.getId(), reorder.getId()), rowIds(client));
+        assertEquals(List.of(), versionRepository.findByTypeAndMeasurementIdOrderByIdDesc(
+                MeasurementVersion.Type.DRESS, adult.getId()));
+        List<MeasurementVersion> versions = versionRepository.findByTypeAndMeasurementIdOrderByIdDesc(
+                MeasurementVersion.Type.DRESS, reorder.getId());
+        assertEquals(1, versions.size());
+        assertEquals(MAR, versions.get(0).getDate());
+        assertEquals("{}", versions.get(0).getChanges());
+
+        // Nothing left to fold: a second run changes nothing
+        assertEquals(0, measurementService.compactClient(client.getId()));
+        assertEquals(List.of(adult.getId(), reorder.getId()), rowIds(client));
+    }
+
+    private Client client(String mobile) {
+        Client client = new Client();
+        client.setName("Compaction " + mobile);
+        client.setMobile(mobile);
+        return clientRepository.save(client);
+    }
+
+    private static DressMeasurement dress(Client client, LocalDate date, Double kameezLength, Double chest, Double waist) {
+        DressMeasurement m = new DressMeasurement();
+        m.setClient(client);
+        m.setDate(date);
+        m.setKameezLength(kameezLength);
+        m.setChest(chest);
+        m.setWaist(waist);
+        m.setCollarType("2");
+        m.setStitchType("double");
+        return m;
+    }
+
+    // What copyMeasurement saved: every field but id and date, dated on the day of the re-order
+    private static DressMeasurement copyOf(DressMeasurement original, LocalDate date) {
+        DressMeasurement copy = new DressMeasurement();
+        BeanUtils.copyProperties(original, copy, "id", "date");
+        copy.setDate(date);
+        return copy;
+    }
+
+    private List<Long> rowIds(Client client) {
+        return measurementRepository.findByClientId(client.getId()).stream()
+                .map(DressMeasurement::getId)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+    }
+
+    private static Path freshDirectory(Path dir) {
+        try {
+            FileSystemUtils.deleteRecursively(dir);
+            return Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}